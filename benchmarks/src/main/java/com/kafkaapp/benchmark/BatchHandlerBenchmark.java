@@ -0,0 +1,119 @@
+package com.kafkaapp.benchmark;
+
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.common.repository.TaskRepository;
+import com.kafkaapp.common.repository.UpsertResult;
+import com.kafkaapp.consumer.service.TaskEventProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mengukur dispatch batch event di consumer ({@link TaskEventProcessor#handleBatch(List)}):
+ * penggabungan event per task ID, pemisahan upsert/delete dan notifikasi listener, dengan
+ * repository yang tidak melakukan I/O. Setiap task muncul rata-rata dua kali dalam satu batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Log INFO per batch dari processor akan mendominasi hasil
+@Fork(value = 1, jvmArgsAppend = "-Dlog.level=WARN")
+@State(Scope.Benchmark)
+public class BatchHandlerBenchmark {
+
+    @Param({"1", "100", "500"})
+    private int batchSize;
+
+    private TaskEventProcessor processor;
+    private List<TaskEvent> batch;
+    private long appliedEvents;
+
+    @Setup
+    public void setup() {
+        processor = new TaskEventProcessor(new NoOpTaskRepository(), new TaskEventProcessor.Listener() {
+            @Override
+            public void onEventApplied(TaskEvent event) {
+                appliedEvents++;
+            }
+        });
+
+        int distinctTasks = Math.max(1, batchSize / 2);
+        List<TaskSnapshot> tasks = new ArrayList<>(distinctTasks);
+        for (int i = 0; i < distinctTasks; i++) {
+            tasks.add(TaskSnapshot.create("Task " + i, "Deskripsi task nomor " + i));
+        }
+        batch = new ArrayList<>(batchSize);
+        TaskEvent.EventType[] types = TaskEvent.EventType.values();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new TaskEvent(types[i % types.length], tasks.get(i % distinctTasks)));
+        }
+    }
+
+    @Benchmark
+    public long handleBatch() {
+        processor.handleBatch(batch);
+        return appliedEvents;
+    }
+
+    /**
+     * Repository tanpa I/O agar yang terukur hanya logika dispatch
+     */
+    private static final class NoOpTaskRepository implements TaskRepository {
+        @Override
+        public List<TaskSnapshot> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<TaskSnapshot> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public TaskSnapshot save(TaskSnapshot task) {
+            return task;
+        }
+
+        @Override
+        public List<UpsertResult> upsertAll(List<TaskSnapshot> tasks) {
+            return Collections.nCopies(tasks.size(), UpsertResult.UPDATED);
+        }
+
+        @Override
+        public boolean deleteById(String id) {
+            return true;
+        }
+
+        @Override
+        public int deleteAllById(Collection<String> ids) {
+            return ids.size();
+        }
+
+        @Override
+        public void deleteAll() {
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.kafkaapp.benchmark;
+
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.producer.repository.InMemoryTaskRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mengukur {@link InMemoryTaskRepository} saat penulis dan pembaca berjalan bersamaan,
+ * seperti TaskController yang menyimpan task sementara UI membaca daftar task.
+ * <p>
+ * Grup {@code readHeavy}: 1 thread save, 3 thread findAll. Grup {@code writeHeavy}: 3 thread
+ * save, 1 thread findById.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class InMemoryRepositoryBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private InMemoryTaskRepository repository;
+    private TaskSnapshot[] tasks;
+
+    @Setup
+    public void setup() {
+        repository = InMemoryTaskRepository.getInstance();
+        repository.deleteAll();
+        tasks = new TaskSnapshot[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = repository.save(TaskSnapshot.create("Task " + i, "Deskripsi task nomor " + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    private TaskSnapshot randomUpdate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskSnapshot task = tasks[random.nextInt(tasks.length)];
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        return task.withChanges(task.getTitle(), task.getDescription(), statuses[random.nextInt(statuses.length)]);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public TaskSnapshot readHeavySave() {
+        return repository.save(randomUpdate());
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public List<TaskSnapshot> readHeavyFindAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public TaskSnapshot writeHeavySave() {
+        return repository.save(randomUpdate());
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public Optional<TaskSnapshot> writeHeavyFindById() {
+        return repository.findById(tasks[ThreadLocalRandom.current().nextInt(tasks.length)].getId());
+    }
+}
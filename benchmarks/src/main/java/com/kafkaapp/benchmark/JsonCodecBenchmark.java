@@ -0,0 +1,100 @@
+package com.kafkaapp.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.common.serialization.TaskEventJsonCodec;
+import com.kafkaapp.common.utils.JsonUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan jalur JSON lama (Gson refleksi, pretty printing, adapter LocalDateTime berbasis
+ * JsonElement, lewat String) dengan codec streaming {@link TaskEventJsonCodec}, serta
+ * {@link JsonUtils} yang dipakai untuk JSON di luar Kafka.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private Gson legacyGson;
+    private TaskEvent event;
+    private byte[] legacyPayload;
+    private byte[] streamingPayload;
+    private String jsonUtilsPayload;
+
+    @Setup
+    public void setup() {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        legacyGson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonSerializer<LocalDateTime>) (src, type, context) -> new JsonPrimitive(formatter.format(src)))
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonDeserializer<LocalDateTime>) (json, type, context) -> LocalDateTime.parse(json.getAsString(), formatter))
+                .setPrettyPrinting()
+                .create();
+
+        String title = "Siapkan laporan mingguan";
+        String description = "Kumpulkan metrik dari semua tim dan kirim ke manajer";
+        TaskSnapshot task = TaskSnapshot.create(title, description)
+                .withChanges(title, description, Task.TaskStatus.IN_PROGRESS);
+        event = new TaskEvent(TaskEvent.EventType.UPDATE, task);
+
+        legacyPayload = legacyGson.toJson(event).getBytes(StandardCharsets.UTF_8);
+        streamingPayload = TaskEventJsonCodec.encode(event);
+        jsonUtilsPayload = JsonUtils.toJson(event);
+    }
+
+    @Benchmark
+    public byte[] legacySerialize() {
+        return legacyGson.toJson(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] streamingSerialize() {
+        return TaskEventJsonCodec.encode(event);
+    }
+
+    @Benchmark
+    public TaskEvent legacyDeserialize() {
+        return legacyGson.fromJson(new String(legacyPayload, StandardCharsets.UTF_8), TaskEvent.class);
+    }
+
+    @Benchmark
+    public TaskEvent streamingDeserialize() {
+        return TaskEventJsonCodec.decode(streamingPayload);
+    }
+
+    @Benchmark
+    public String jsonUtilsSerialize() {
+        return JsonUtils.toJson(event);
+    }
+
+    @Benchmark
+    public TaskEvent jsonUtilsDeserialize() {
+        return JsonUtils.fromJson(jsonUtilsPayload, TaskEvent.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kafkaapp.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Membandingkan dua hasil JMH berformat JSON ({@code -rf json}) dan keluar dengan kode 1 jika ada
+ * benchmark yang memburuk melebihi batas toleransi.
+ * <p>
+ * Penggunaan: {@code java -cp benchmarks.jar com.kafkaapp.benchmark.ResultComparison
+ * baseline.json current.json [toleransi-persen]}
+ */
+public class ResultComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Penggunaan: ResultComparison <baseline.json> <current.json> [toleransi-persen, default 10]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> current = read(args[1]);
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Delta");
+        for (Map.Entry<String, Result> entry : new TreeMap<>(current).entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", after.score, "baru");
+                continue;
+            }
+            double change = (after.score - before.score) / before.score * 100.0;
+            // Mode throughput: lebih tinggi lebih baik; mode waktu: lebih rendah lebih baik
+            double worse = "thrpt".equals(after.mode) ? -change : change;
+            boolean regressed = worse > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.score, after.score,
+                    change, regressed ? "  REGRESI" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark memburuk lebih dari %.1f%%%n", regressions, tolerance);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(String path) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                JsonObject run = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+                if (run.has("params")) {
+                    for (Map.Entry<String, JsonElement> param : new TreeMap<>(run.getAsJsonObject("params").asMap()).entrySet()) {
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().getAsString());
+                    }
+                }
+                JsonObject metric = run.getAsJsonObject("primaryMetric");
+                String unit = metric.get("scoreUnit").getAsString();
+                results.put(key + " (" + unit + ")",
+                        new Result(run.get("mode").getAsString(), metric.get("score").getAsDouble()));
+            }
+        }
+        return results;
+    }
+
+    private static final class Result {
+        final String mode;
+        final double score;
+
+        Result(String mode, double score) {
+            this.mode = mode;
+            this.score = score;
+        }
+    }
+}
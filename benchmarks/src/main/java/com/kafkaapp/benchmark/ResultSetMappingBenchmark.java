@@ -0,0 +1,79 @@
+package com.kafkaapp.benchmark;
+
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.common.repository.MySqlTaskRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mengukur {@link MySqlTaskRepository#mapResultSetToTask(ResultSet)} terhadap ResultSet stub
+ * berisi satu baris, tanpa koneksi database.
+ * <p>
+ * Stub dibuat dengan {@link Proxy} sehingga overhead pemanggilan proxy ikut terukur;
+ * angka ini dipakai sebagai baseline relatif, bukan biaya absolut driver JDBC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetMappingBenchmark {
+
+    private ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        TaskSnapshot task = TaskSnapshot.create("Siapkan laporan mingguan", "Kumpulkan metrik dari semua tim dan kirim ke manajer");
+        Map<String, Object> row = new HashMap<>();
+        row.put(MySqlTaskRepository.ID_COLUMN, task.getId());
+        row.put("title", task.getTitle());
+        row.put("description", task.getDescription());
+        row.put("status", task.getStatus().name());
+        row.put("created_at", LocalDateTime.now());
+        row.put("updated_at", LocalDateTime.now());
+        resultSet = stubResultSet(row);
+    }
+
+    @Benchmark
+    public TaskSnapshot mapRow() throws SQLException {
+        return MySqlTaskRepository.mapResultSetToTask(resultSet);
+    }
+
+    /**
+     * ResultSet yang hanya mendukung getString(label) dan getObject(label, type)
+     */
+    private static ResultSet stubResultSet(Map<String, Object> row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getString":
+                            return (String) row.get((String) args[0]);
+                        case "getObject":
+                            return ((Class<?>) args[1]).cast(row.get((String) args[0]));
+                        case "wasNull":
+                            return false;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
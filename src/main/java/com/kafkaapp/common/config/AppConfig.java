@@ -0,0 +1,93 @@
+package com.kafkaapp.common.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Akses ke konfigurasi aplikasi dari application.properties.
+ * <p>
+ * Setiap nilai dapat di-override per deployment melalui system property JVM
+ * dengan nama yang sama, misalnya {@code -Dkafka.bootstrap.servers=broker:9092}.
+ */
+public class AppConfig {
+    private static final Logger LOGGER = Logger.getLogger(AppConfig.class.getName());
+    private static Properties properties;
+
+    private AppConfig() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Mendapatkan nilai konfigurasi
+     *
+     * @param key Nama properti
+     * @param defaultValue Nilai default jika properti tidak ada
+     * @return Nilai dari system property, application.properties, atau default
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String override = System.getProperty(key);
+        if (override != null) {
+            return override.trim();
+        }
+        String value = getProperties().getProperty(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Mendapatkan nilai konfigurasi bertipe int
+     *
+     * @param key Nama properti
+     * @param defaultValue Nilai default jika properti tidak ada atau tidak valid
+     * @return Nilai int
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Nilai tidak valid untuk " + key + ": " + value + ", memakai default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Mendapatkan semua properti dari application.properties
+     *
+     * @return Properties yang sudah dimuat
+     */
+    public static synchronized Properties getProperties() {
+        if (properties == null) {
+            properties = loadProperties();
+        }
+        return properties;
+    }
+
+    /**
+     * Memuat properti dari file application.properties
+     *
+     * @return Properties object, kosong jika file tidak ditemukan
+     */
+    private static Properties loadProperties() {
+        Properties loaded = new Properties();
+
+        try (InputStream input = AppConfig.class.getClassLoader()
+                .getResourceAsStream("application.properties")) {
+
+            if (input == null) {
+                LOGGER.warning("Unable to find application.properties, memakai nilai default");
+                return loaded;
+            }
+
+            loaded.load(input);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Gagal membaca application.properties", e);
+        }
+        return loaded;
+    }
+}
@@ -46,11 +46,16 @@ public class DatabaseConfig {
             config.setDriverClassName(properties.getProperty("db.driver"));
             
             // Konfigurasi pool
-            config.setMaximumPoolSize(10);
+            config.setMaximumPoolSize(Integer.parseInt(properties.getProperty("db.pool.maxSize", "10").trim()));
             config.setMinimumIdle(2);
             config.setIdleTimeout(30000);
             config.setConnectionTimeout(30000);
             
+            // Gabungkan statement batch menjadi satu round trip ke MySQL
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+            // Laporkan baris yang benar-benar berubah agar upsert bisa membedakan insert dan update
+            config.addDataSourceProperty("useAffectedRows", "true");
+            
             dataSource = new HikariDataSource(config);
             LOGGER.info("Database connection pool initialized successfully");
             
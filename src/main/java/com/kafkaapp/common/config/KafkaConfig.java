@@ -0,0 +1,105 @@
+package com.kafkaapp.common.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Konfigurasi koneksi dan tuning Kafka dari application.properties.
+ * <p>
+ * Properti client disusun berlapis: profil {@code kafka.profile} ({@link KafkaTuningProfile}),
+ * lalu override per deployment {@code kafka.producer.<nama-config>} dan
+ * {@code kafka.consumer.<nama-config>}, misalnya {@code -Dkafka.producer.linger.ms=20}. Hanya key
+ * yang merupakan nama config client Kafka yang diteruskan; key aplikasi seperti
+ * {@code kafka.producer.format} diabaikan di sini.
+ */
+public class KafkaConfig {
+    private static final Logger LOGGER = Logger.getLogger(KafkaConfig.class.getName());
+    private static final String PRODUCER_PREFIX = "kafka.producer.";
+    private static final String CONSUMER_PREFIX = "kafka.consumer.";
+
+    private KafkaConfig() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String getBootstrapServers() {
+        return AppConfig.getProperty("kafka.bootstrap.servers", "localhost:9092");
+    }
+
+    public static String getTaskTopic() {
+        return AppConfig.getProperty("kafka.topic.tasks", "task-events");
+    }
+
+    public static String getConsumerGroupId() {
+        return AppConfig.getProperty("kafka.consumer.group.id", "task-consumer-group");
+    }
+
+    /**
+     * Mendapatkan profil tuning yang dipilih
+     *
+     * @return Profil dari {@code kafka.profile}, BALANCED jika tidak diisi atau tidak dikenal
+     */
+    public static KafkaTuningProfile getProfile() {
+        String name = AppConfig.getProperty("kafka.profile", "");
+        if (name.isEmpty()) {
+            return KafkaTuningProfile.BALANCED;
+        }
+        try {
+            return KafkaTuningProfile.fromName(name);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Profil Kafka tidak dikenal: " + name + ", memakai BALANCED");
+            return KafkaTuningProfile.BALANCED;
+        }
+    }
+
+    /**
+     * Menyusun properti producer dari profil dan override {@code kafka.producer.*}
+     *
+     * @param bootstrapServers URL Kafka bootstrap servers
+     * @return Properti producer tanpa serializer
+     */
+    public static Properties producerProperties(String bootstrapServers) {
+        Properties props = new Properties();
+        props.putAll(getProfile().getProducerConfig());
+        applyOverrides(props, PRODUCER_PREFIX, ProducerConfig.configNames());
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return props;
+    }
+
+    /**
+     * Menyusun properti consumer dari profil dan override {@code kafka.consumer.*}
+     *
+     * @param bootstrapServers URL Kafka bootstrap servers
+     * @param groupId Group ID untuk Kafka Consumer
+     * @return Properti consumer tanpa deserializer
+     */
+    public static Properties consumerProperties(String bootstrapServers, String groupId) {
+        Properties props = new Properties();
+        props.putAll(getProfile().getConsumerConfig());
+        applyOverrides(props, CONSUMER_PREFIX, ConsumerConfig.configNames());
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        return props;
+    }
+
+    /**
+     * Terapkan nilai {@code <prefix><nama-config>} dari application.properties dan system property
+     */
+    private static void applyOverrides(Properties props, String prefix, Set<String> configNames) {
+        Set<String> keys = new TreeSet<>(AppConfig.getProperties().stringPropertyNames());
+        keys.addAll(System.getProperties().stringPropertyNames());
+        for (String key : keys) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String name = key.substring(prefix.length());
+            if (configNames.contains(name)) {
+                props.put(name, AppConfig.getProperty(key, ""));
+            }
+        }
+    }
+}
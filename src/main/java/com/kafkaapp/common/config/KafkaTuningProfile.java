@@ -0,0 +1,90 @@
+package com.kafkaapp.common.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Profil tuning Kafka yang dapat dipilih dengan {@code kafka.profile}.
+ * <p>
+ * Setiap profil berisi kombinasi pengaturan producer dan consumer yang saling sesuai. Nilai
+ * tunggal tetap dapat di-override dengan {@code kafka.producer.<nama-config>} atau
+ * {@code kafka.consumer.<nama-config>}, lihat {@link KafkaConfig}.
+ */
+public enum KafkaTuningProfile {
+    /**
+     * Batch besar dan kompresi: throughput maksimum dengan latensi tambahan hingga ratusan ms
+     */
+    THROUGHPUT(
+            producer("50", "262144", "lz4", "all", "67108864"),
+            consumer("65536", "500", "2000", "4194304")),
+    /**
+     * Kirim dan fetch secepatnya dengan acks=1; cocok untuk UI interaktif dengan beban rendah
+     */
+    LOW_LATENCY(
+            producer("0", "16384", "none", "1", "33554432"),
+            consumer("1", "10", "100", "1048576")),
+    /**
+     * Batch kecil dengan jeda singkat; default untuk producer dan consumer
+     */
+    BALANCED(
+            producer("5", "65536", "lz4", "all", "33554432"),
+            consumer("16384", "100", "500", "1048576"));
+
+    private final Map<String, String> producerConfig;
+    private final Map<String, String> consumerConfig;
+
+    KafkaTuningProfile(Map<String, String> producerConfig, Map<String, String> consumerConfig) {
+        this.producerConfig = Collections.unmodifiableMap(producerConfig);
+        this.consumerConfig = Collections.unmodifiableMap(consumerConfig);
+    }
+
+    /**
+     * @return Pengaturan producer dengan nama config Kafka sebagai key
+     */
+    public Map<String, String> getProducerConfig() {
+        return producerConfig;
+    }
+
+    /**
+     * @return Pengaturan consumer dengan nama config Kafka sebagai key
+     */
+    public Map<String, String> getConsumerConfig() {
+        return consumerConfig;
+    }
+
+    /**
+     * Mencari profil berdasarkan nama, tanpa membedakan huruf besar/kecil dan '-'/'_'
+     *
+     * @param name Nama profil, misalnya "low-latency"
+     * @return Profil yang sesuai
+     * @throws IllegalArgumentException jika nama tidak dikenal
+     */
+    public static KafkaTuningProfile fromName(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+
+    private static Map<String, String> producer(String lingerMs, String batchSize, String compressionType,
+            String acks, String bufferMemory) {
+        Map<String, String> config = new LinkedHashMap<>();
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        return config;
+    }
+
+    private static Map<String, String> consumer(String fetchMinBytes, String fetchMaxWaitMs, String maxPollRecords,
+            String maxPartitionFetchBytes) {
+        Map<String, String> config = new LinkedHashMap<>();
+        config.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        config.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, maxPartitionFetchBytes);
+        return config;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kafkaapp.common.config;
+
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+/**
+ * Konfigurasi logging saat startup.
+ * <p>
+ * Kode di {@code common} memakai java.util.logging; bridge ini meneruskannya ke SLF4J/logback
+ * sehingga semua log melewati appender asinkron yang sama dan levelnya diatur di satu tempat
+ * ({@code logback.xml}).
+ */
+public class LoggingConfig {
+    private static boolean installed;
+
+    private LoggingConfig() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Pasang bridge java.util.logging ke SLF4J. Dipanggil sekali di awal setiap entry point.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        SLF4JBridgeHandler.removeHandlersForRootLogger();
+        SLF4JBridgeHandler.install();
+        installed = true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.kafkaapp.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Pemanggilan handler batch untuk event hasil satu poll (atau satu lane).
+ * Event {@link TaskApplyEvent} dan {@link SqlStatementEvent} di thread yang sama berada di dalamnya.
+ */
+@Name("com.kafkaapp.ConsumerBatch")
+@Label("Consumer Batch")
+@Category({"Kafka Task Manager", "Consumer"})
+@Description("Pemrosesan satu batch TaskEvent oleh handler")
+@Threshold("5 ms")
+@StackTrace(false)
+public class ConsumerBatchEvent extends jdk.jfr.Event {
+    @Label("Events")
+    public int eventCount;
+
+    @Label("Partitions")
+    public String partitions;
+}
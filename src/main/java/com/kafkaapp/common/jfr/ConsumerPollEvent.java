@@ -0,0 +1,26 @@
+package com.kafkaapp.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Satu iterasi loop poll consumer: poll, pemrosesan (atau dispatch ke lane) dan commit offset
+ */
+@Name("com.kafkaapp.ConsumerPoll")
+@Label("Consumer Poll")
+@Category({"Kafka Task Manager", "Consumer"})
+@Description("Satu iterasi loop poll KafkaConsumerService")
+@Threshold("10 ms")
+@StackTrace(false)
+public class ConsumerPollEvent extends jdk.jfr.Event {
+    @Label("Records")
+    public int recordCount;
+
+    @Label("Partitions")
+    @Description("Partition yang memiliki record di poll ini, misalnya task-events-0,task-events-2")
+    public String partitions;
+}
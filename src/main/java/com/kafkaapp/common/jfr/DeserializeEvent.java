@@ -0,0 +1,40 @@
+package com.kafkaapp.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Deserialisasi payload menjadi objek, baik record Kafka maupun {@code JsonUtils.fromJson}.
+ * Partition dan offset bernilai -1 di luar consumer Kafka.
+ */
+@Name("com.kafkaapp.Deserialize")
+@Label("Deserialize")
+@Category({"Kafka Task Manager", "Serialization"})
+@Description("Deserialisasi payload TaskEvent atau JSON")
+@Threshold("1 ms")
+@StackTrace(false)
+public class DeserializeEvent extends jdk.jfr.Event {
+    @Label("Target Type")
+    public String targetType;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Partition")
+    public int partition = -1;
+
+    @Label("Offset")
+    public long offset = -1;
+
+    @Label("Task ID")
+    public String taskId;
+
+    @Label("Event Type")
+    public String eventType;
+}
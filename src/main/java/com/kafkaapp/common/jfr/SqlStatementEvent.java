@@ -0,0 +1,30 @@
+package com.kafkaapp.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Satu operasi MySqlTaskRepository, termasuk menunggu koneksi dari pool
+ */
+@Name("com.kafkaapp.SqlStatement")
+@Label("SQL Statement")
+@Category({"Kafka Task Manager", "Database"})
+@Description("Operasi MySqlTaskRepository")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SqlStatementEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Task ID")
+    @Description("ID task untuk operasi satu baris")
+    public String taskId;
+
+    @Label("Rows")
+    @Description("Jumlah task yang dikirim dalam statement")
+    public int rowCount;
+}
@@ -0,0 +1,32 @@
+package com.kafkaapp.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Penerapan TaskEvent ke repository di consumer. Untuk penulisan batch, task ID kosong dan
+ * eventType bernilai BATCH_UPSERT atau BATCH_DELETE.
+ */
+@Name("com.kafkaapp.TaskApply")
+@Label("Task Apply")
+@Category({"Kafka Task Manager", "Consumer"})
+@Description("Penerapan TaskEvent ke database")
+@Threshold("1 ms")
+@StackTrace(false)
+public class TaskApplyEvent extends jdk.jfr.Event {
+    @Label("Task ID")
+    public String taskId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Tasks")
+    public int taskCount;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,24 @@
+package com.kafkaapp.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Penghitung kumulatif yang hanya bertambah. Laju (per detik) dihitung oleh pembaca dari
+ * selisih dua pembacaan.
+ */
+public class Counter implements CounterMXBean {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long value) {
+        count.add(value);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,8 @@
+package com.kafkaapp.common.metrics;
+
+/**
+ * Tampilan JMX untuk {@link Counter}
+ */
+public interface CounterMXBean {
+    long getCount();
+}
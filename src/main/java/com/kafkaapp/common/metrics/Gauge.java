@@ -0,0 +1,20 @@
+package com.kafkaapp.common.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Nilai sesaat yang dibaca dari sumbernya setiap kali diminta, misalnya jumlah event in-flight
+ * atau jumlah koneksi aktif di pool. Sumber harus aman dipanggil dari thread JMX.
+ */
+public class Gauge implements GaugeMXBean {
+    private final LongSupplier supplier;
+
+    public Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+}
@@ -0,0 +1,8 @@
+package com.kafkaapp.common.metrics;
+
+/**
+ * Tampilan JMX untuk {@link Gauge}
+ */
+public interface GaugeMXBean {
+    long getValue();
+}
@@ -0,0 +1,133 @@
+package com.kafkaapp.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry metrik aplikasi (counter, gauge, timer) yang juga didaftarkan sebagai MBean di
+ * platform MBeanServer dengan nama {@code com.kafkaapp:type=<grup>,name=<nama>}, sehingga bisa
+ * dibaca dengan JConsole, VisualVM atau agen JMX exporter tanpa membaca log.
+ * <p>
+ * Metrik dengan grup dan nama yang sama dipakai bersama oleh semua pemanggil dalam satu JVM.
+ * Kegagalan registrasi JMX hanya dicatat di log; metrik tetap bisa dipakai secara programatik.
+ */
+public class MetricsRegistry {
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final String DOMAIN = "com.kafkaapp";
+
+    private static MetricsRegistry instance;
+
+    private final MBeanServer mbeanServer;
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        this.mbeanServer = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    /**
+     * Mendapatkan instance MetricsRegistry (singleton)
+     *
+     * @return Instance MetricsRegistry
+     */
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Mendapatkan counter, dibuat jika belum ada
+     */
+    public Counter counter(String group, String name) {
+        return (Counter) metrics.computeIfAbsent(key(group, name), key -> register(group, name, new Counter()));
+    }
+
+    /**
+     * Mendapatkan timer, dibuat jika belum ada
+     */
+    public Timer timer(String group, String name) {
+        return (Timer) metrics.computeIfAbsent(key(group, name), key -> register(group, name, new Timer()));
+    }
+
+    /**
+     * Mendaftarkan gauge. Gauge lama dengan grup dan nama yang sama diganti.
+     */
+    public Gauge gauge(String group, String name, LongSupplier supplier) {
+        Gauge gauge = new Gauge(supplier);
+        metrics.compute(key(group, name), (key, old) -> {
+            if (old != null) {
+                unregister(group, name);
+            }
+            return register(group, name, gauge);
+        });
+        return gauge;
+    }
+
+    /**
+     * Menghapus metrik, misalnya gauge lag untuk partition yang sudah dicabut
+     */
+    public void remove(String group, String name) {
+        if (metrics.remove(key(group, name)) != null) {
+            unregister(group, name);
+        }
+    }
+
+    /**
+     * Mendapatkan metrik yang terdaftar
+     *
+     * @return Metrik, atau null jika belum ada
+     */
+    public Object get(String group, String name) {
+        return metrics.get(key(group, name));
+    }
+
+    private <T> T register(String group, String name, T metric) {
+        try {
+            mbeanServer.registerMBean(metric, objectName(group, name));
+        } catch (InstanceAlreadyExistsException e) {
+            // Sisa dari registry lain di JVM yang sama; ganti agar nilai yang terbaca tetap benar
+            try {
+                mbeanServer.unregisterMBean(objectName(group, name));
+                mbeanServer.registerMBean(metric, objectName(group, name));
+            } catch (JMException ex) {
+                LOGGER.log(Level.WARNING, "Gagal mendaftarkan metrik " + key(group, name) + " ke JMX", ex);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Gagal mendaftarkan metrik " + key(group, name) + " ke JMX", e);
+        }
+        return metric;
+    }
+
+    private void unregister(String group, String name) {
+        try {
+            mbeanServer.unregisterMBean(objectName(group, name));
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Metrik " + key(group, name) + " tidak terdaftar di JMX", e);
+        }
+    }
+
+    private static String key(String group, String name) {
+        return group + "." + name;
+    }
+
+    private static ObjectName objectName(String group, String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + sanitize(group) + ",name=" + sanitize(name));
+    }
+
+    /**
+     * Karakter yang tidak boleh muncul pada nilai ObjectName tanpa tanda kutip
+     */
+    private static String sanitize(String value) {
+        return value.replaceAll("[,=:\"*?\\n]", "_");
+    }
+}
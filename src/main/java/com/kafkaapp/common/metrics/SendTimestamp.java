@@ -0,0 +1,69 @@
+package com.kafkaapp.common.metrics;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.time.Instant;
+
+/**
+ * Waktu kirim producer yang dibawa setiap record di header {@value #HEADER}.
+ * <p>
+ * Nilai disimpan sebagai mikrodetik epoch (8 byte big-endian) dari jam dinding, sehingga latensi
+ * antar-proses hanya akurat jika jam producer dan consumer tersinkronisasi (misalnya lewat NTP).
+ */
+public final class SendTimestamp {
+    /** Nama header Kafka yang menyimpan waktu kirim producer */
+    public static final String HEADER = "sent-at-us";
+
+    /** Nilai yang dikembalikan jika record tidak memiliki header waktu kirim */
+    public static final long MISSING = -1;
+
+    private SendTimestamp() {
+    }
+
+    /**
+     * Waktu sekarang dalam mikrodetik epoch
+     */
+    public static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+    }
+
+    /**
+     * Tulis waktu sekarang ke header record, menggantikan nilai lama jika ada
+     */
+    public static void stamp(Headers headers) {
+        long micros = nowMicros();
+        byte[] value = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            value[i] = (byte) micros;
+            micros >>>= 8;
+        }
+        headers.remove(HEADER);
+        headers.add(HEADER, value);
+    }
+
+    /**
+     * Baca waktu kirim dari header record
+     *
+     * @return Mikrodetik epoch, atau {@link #MISSING} jika header tidak ada atau tidak valid
+     */
+    public static long read(Headers headers) {
+        Header header = headers.lastHeader(HEADER);
+        if (header == null || header.value() == null || header.value().length != 8) {
+            return MISSING;
+        }
+        long micros = 0;
+        for (byte b : header.value()) {
+            micros = (micros << 8) | (b & 0xff);
+        }
+        return micros;
+    }
+
+    /**
+     * Latensi dalam nanodetik dari waktu kirim sampai waktu tertentu
+     */
+    public static long elapsedNanos(long sentAtMicros, long nowMicros) {
+        return (nowMicros - sentAtMicros) * 1_000L;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kafkaapp.common.metrics;
+
+/**
+ * Pengukur durasi operasi berbasis {@link LatencyHistogram}, sejak aplikasi dimulai
+ */
+public class Timer implements TimerMXBean {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public void recordNanos(long nanos) {
+        histogram.recordNanos(nanos);
+    }
+
+    /**
+     * Rekam durasi sejak waktu mulai dari {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        histogram.recordSince(startNanos);
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return histogram.getMeanNanos() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return LatencyHistogram.toMillis(histogram.getPercentileNanos(50));
+    }
+
+    @Override
+    public double getP99Millis() {
+        return LatencyHistogram.toMillis(histogram.getPercentileNanos(99));
+    }
+
+    @Override
+    public double getP999Millis() {
+        return LatencyHistogram.toMillis(histogram.getPercentileNanos(99.9));
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return LatencyHistogram.toMillis(histogram.getMaxNanos());
+    }
+}
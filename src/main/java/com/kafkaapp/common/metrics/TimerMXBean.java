@@ -0,0 +1,18 @@
+package com.kafkaapp.common.metrics;
+
+/**
+ * Tampilan JMX untuk {@link Timer}. Semua durasi dalam milidetik.
+ */
+public interface TimerMXBean {
+    long getCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+}
@@ -1,10 +1,12 @@
 package com.kafkaapp.common.model;
 
+import com.kafkaapp.common.utils.TaskIdGenerator;
+
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
- * Model class representing a Task entity
+ * Model class representing a Task entity.
+ * Mutable; only used at the JSON boundary. Application code shares {@link TaskSnapshot} instead.
  */
 public class Task {
     private String id;
@@ -19,9 +21,11 @@ public class Task {
         TODO, IN_PROGRESS, DONE
     }
 
-    // Default constructor
+    // Default constructor untuk task baru: generate ID dan timestamp.
+    // Untuk deserializasi dan mapping baris database gunakan constructor lengkap
+    // agar tidak membuang UUID acak dan pembacaan jam yang langsung ditimpa.
     public Task() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TaskIdGenerator.newId();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
         this.status = TaskStatus.TODO;
@@ -3,56 +3,51 @@ package com.kafkaapp.common.model;
 import java.time.LocalDateTime;
 
 /**
- * Model untuk event Task yang akan dikirim melalui Kafka
+ * Model untuk event Task yang akan dikirim melalui Kafka.
+ * Immutable, sehingga dapat dibagikan antar thread tanpa salinan.
  */
-public class TaskEvent {
+public final class TaskEvent {
     
     // Tipe event
     public enum EventType {
         CREATE, UPDATE, DELETE
     }
     
-    private EventType eventType;
-    private Task task;
-    private LocalDateTime eventTime;
-    
-    // Default constructor untuk deserializasi
-    public TaskEvent() {
-        this.eventTime = LocalDateTime.now();
-    }
+    private final EventType eventType;
+    private final TaskSnapshot task;
+    private final LocalDateTime eventTime;
     
     // Constructor dengan parameter
-    public TaskEvent(EventType eventType, Task task) {
+    public TaskEvent(EventType eventType, TaskSnapshot task) {
+        this(eventType, task, LocalDateTime.now());
+    }
+    
+    /**
+     * Constructor lengkap untuk deserializasi, tanpa membaca jam sistem
+     * 
+     * @param eventType Tipe event
+     * @param task Task yang terkait
+     * @param eventTime Waktu event dari payload
+     */
+    public TaskEvent(EventType eventType, TaskSnapshot task, LocalDateTime eventTime) {
         this.eventType = eventType;
         this.task = task;
-        this.eventTime = LocalDateTime.now();
+        this.eventTime = eventTime;
     }
     
-    // Getters and Setters
+    // Getters
     public EventType getEventType() {
         return eventType;
     }
     
-    public void setEventType(EventType eventType) {
-        this.eventType = eventType;
-    }
-    
-    public Task getTask() {
+    public TaskSnapshot getTask() {
         return task;
     }
     
-    public void setTask(Task task) {
-        this.task = task;
-    }
-    
     public LocalDateTime getEventTime() {
         return eventTime;
     }
     
-    public void setEventTime(LocalDateTime eventTime) {
-        this.eventTime = eventTime;
-    }
-    
     @Override
     public String toString() {
         return "TaskEvent{" +
@@ -61,4 +56,4 @@ public class TaskEvent {
                 ", eventTime=" + eventTime +
                 '}';
     }
-} 
\ No newline at end of file
+} 
@@ -0,0 +1,146 @@
+package com.kafkaapp.common.model;
+
+import com.kafkaapp.common.utils.TaskIdGenerator;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Nilai task yang immutable.
+ * <p>
+ * Dipakai bersama oleh repository, controller dan layer Kafka tanpa salinan defensif:
+ * perubahan dilakukan lewat method {@code with...} yang mengembalikan instance baru.
+ * {@link Task} yang mutable hanya dipakai di batas JSON.
+ */
+public final class TaskSnapshot {
+    private final String id;
+    private final String title;
+    private final String description;
+    private final Task.TaskStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public TaskSnapshot(String id, String title, String description, Task.TaskStatus status,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Membuat task baru dengan ID baru, status TODO dan timestamp saat ini
+     *
+     * @param title Judul task
+     * @param description Deskripsi task
+     * @return Task baru
+     */
+    public static TaskSnapshot create(String title, String description) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskSnapshot(TaskIdGenerator.newId(), title, description, Task.TaskStatus.TODO, now, now);
+    }
+
+    /**
+     * Membuat snapshot dari Task mutable (misalnya hasil parsing JSON)
+     *
+     * @param task Task sumber, boleh null
+     * @return Snapshot, atau null jika task null
+     */
+    public static TaskSnapshot from(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    /**
+     * Membuat Task mutable dengan isi yang sama, untuk batas JSON
+     *
+     * @return Task baru
+     */
+    public Task toTask() {
+        return new Task(id, title, description, status, createdAt, updatedAt);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Task.TaskStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public TaskSnapshot withId(String id) {
+        return new TaskSnapshot(id, title, description, status, createdAt, updatedAt);
+    }
+
+    /**
+     * Mengubah judul, deskripsi dan status sekaligus dengan satu alokasi,
+     * dan memperbarui updatedAt ke waktu saat ini
+     *
+     * @return Snapshot baru
+     */
+    public TaskSnapshot withChanges(String title, String description, Task.TaskStatus status) {
+        return new TaskSnapshot(id, title, description, status, createdAt, LocalDateTime.now());
+    }
+
+    /**
+     * Memeriksa apakah judul, deskripsi dan status sama dengan task lain, tanpa melihat timestamp
+     *
+     * @param other Task pembanding
+     * @return true jika isinya sama
+     */
+    public boolean hasSameContent(TaskSnapshot other) {
+        return other != null
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && status == other.status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskSnapshot)) return false;
+        TaskSnapshot other = (TaskSnapshot) o;
+        return Objects.equals(id, other.id)
+                && hasSameContent(other)
+                && Objects.equals(createdAt, other.createdAt)
+                && Objects.equals(updatedAt, other.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, status, createdAt, updatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "Task{" +
+                "id='" + id + '\'' +
+                ", title='" + title + '\'' +
+                ", description='" + description + '\'' +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,377 @@
+package com.kafkaapp.common.repository;
+
+import com.kafkaapp.common.config.AppConfig;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorator TaskRepository dengan cache read-through untuk pencarian berdasarkan ID.
+ * <p>
+ * Cache dibatasi jumlah entri (LRU) dan umur entri. ID yang tidak ditemukan juga di-cache
+ * (negative caching) dengan umur yang lebih pendek. Setiap penulisan selalu diteruskan ke delegate,
+ * lalu cache diperbarui dari task yang ditulis. Cache hanya dipakai untuk pembacaan: isinya bisa
+ * tertinggal dari database (consumer lain, perubahan langsung di MySQL), jadi tidak pernah dipakai
+ * untuk melewati penulisan.
+ * <p>
+ * Hanya berguna untuk pemanggil yang sering membaca berdasarkan ID. Consumer tidak memakainya,
+ * karena consumer hanya menulis dan cache akan menjadi biaya tambahan di setiap event.
+ */
+public class CachingTaskRepository implements TaskRepository {
+    private final TaskRepository delegate;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param delegate Repository yang dibungkus
+     * @param maxSize Jumlah maksimum entri di cache
+     * @param ttlMillis Umur maksimum entri task
+     * @param negativeTtlMillis Umur maksimum entri ID yang tidak ditemukan
+     */
+    public CachingTaskRepository(TaskRepository delegate, int maxSize, long ttlMillis, long negativeTtlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize harus lebih besar dari 0");
+        }
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.entries = new LinkedHashMap<String, Entry>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Membuat cache dengan ukuran dan umur entri dari konfigurasi {@code cache.task.*}.
+     * Statistiknya juga didaftarkan sebagai metrik JMX.
+     *
+     * @param delegate Repository yang dibungkus
+     * @return Repository dengan cache
+     */
+    public static CachingTaskRepository fromConfig(TaskRepository delegate) {
+        CachingTaskRepository cache = new CachingTaskRepository(delegate,
+                AppConfig.getInt("cache.task.maxSize", 10000),
+                AppConfig.getInt("cache.task.ttl.ms", 300000),
+                AppConfig.getInt("cache.task.negativeTtl.ms", 30000));
+        cache.registerMetrics();
+        return cache;
+    }
+
+    /**
+     * Daftarkan statistik cache sebagai gauge JMX di grup {@code cache}
+     */
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("cache", "hits", hits::sum);
+        metrics.gauge("cache", "negativeHits", negativeHits::sum);
+        metrics.gauge("cache", "misses", misses::sum);
+        metrics.gauge("cache", "evictions", evictions::sum);
+        metrics.gauge("cache", "expirations", expirations::sum);
+        metrics.gauge("cache", "size", () -> {
+            synchronized (entries) {
+                return entries.size();
+            }
+        });
+    }
+
+    @Override
+    public Optional<TaskSnapshot> findById(String id) {
+        Entry entry = lookup(id);
+        if (entry != null) {
+            return Optional.ofNullable(entry.task);
+        }
+
+        Optional<TaskSnapshot> task = delegate.findById(id);
+        cache(id, task.orElse(null));
+        return task;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        Entry entry = lookup(id);
+        if (entry != null) {
+            return entry.task != null;
+        }
+        // Ambil baris lengkap agar pemanggilan findById berikutnya juga kena cache
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public TaskSnapshot save(TaskSnapshot task) {
+        if (task.getId() == null) {
+            // ID baru dibuat oleh delegate
+            TaskSnapshot saved = delegate.save(task);
+            cache(saved.getId(), saved);
+            return saved;
+        }
+        upsert(task);
+        return task;
+    }
+
+    @Override
+    public UpsertResult upsert(TaskSnapshot task) {
+        UpsertResult result = delegate.upsert(task);
+        cache(task.getId(), task);
+        return result;
+    }
+
+    @Override
+    public List<TaskSnapshot> saveAll(List<TaskSnapshot> tasks) {
+        upsertAll(tasks);
+        return tasks;
+    }
+
+    @Override
+    public List<UpsertResult> upsertAll(List<TaskSnapshot> tasks) {
+        List<UpsertResult> results = delegate.upsertAll(tasks);
+        for (TaskSnapshot task : tasks) {
+            cache(task.getId(), task);
+        }
+        return results;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        boolean deleted;
+        try {
+            deleted = delegate.deleteById(id);
+        } catch (RuntimeException e) {
+            invalidate(id);
+            throw e;
+        }
+        if (deleted) {
+            cache(id, null);
+        } else {
+            invalidate(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteAllById(Collection<String> ids) {
+        int deleted;
+        try {
+            deleted = delegate.deleteAllById(ids);
+        } catch (RuntimeException e) {
+            ids.forEach(this::invalidate);
+            throw e;
+        }
+        // Jika tidak semua terhapus, tidak diketahui ID mana yang masih ada
+        if (deleted == ids.size()) {
+            ids.forEach(id -> cache(id, null));
+        } else {
+            ids.forEach(this::invalidate);
+        }
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public List<TaskSnapshot> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TaskSnapshot> findPage(LocalDateTime afterCreatedAt, String afterId, int limit) {
+        return delegate.findPage(afterCreatedAt, afterId, limit);
+    }
+
+    @Override
+    public Stream<TaskSnapshot> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<TaskSnapshot> findByStatus(Task.TaskStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public int countByStatus(Task.TaskStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public List<TaskSnapshot> findRecent(int limit) {
+        return delegate.findRecent(limit);
+    }
+
+    @Override
+    public List<TaskSnapshot> findRecentlyUpdated(int limit) {
+        return delegate.findRecentlyUpdated(limit);
+    }
+
+    /**
+     * Mendapatkan statistik cache saat ini
+     *
+     * @return Snapshot statistik
+     */
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), size);
+    }
+
+    /**
+     * Mencari entri yang masih berlaku dan mencatat hit/miss
+     */
+    private Entry lookup(String id) {
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+            if (entry != null && now - entry.expiresAt > 0) {
+                entries.remove(id);
+                expirations.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+        } else if (entry.task == null) {
+            negativeHits.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Simpan task ke cache, atau entri negatif jika task null
+     */
+    private void cache(String id, TaskSnapshot task) {
+        if (id == null) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + (task != null ? ttlNanos : negativeTtlNanos);
+        Entry entry = new Entry(task, expiresAt);
+        synchronized (entries) {
+            entries.put(id, entry);
+        }
+    }
+
+    /**
+     * Hapus entri cache sehingga pembacaan berikutnya mengambil dari delegate
+     */
+    private void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Entri cache: task null berarti ID diketahui tidak ada
+     */
+    private static final class Entry {
+        final TaskSnapshot task;
+        final long expiresAt;
+
+        Entry(TaskSnapshot task, long expiresAt) {
+            this.task = task;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Snapshot statistik cache
+     */
+    public static final class CacheStats {
+        private final long hits;
+        private final long negativeHits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final int size;
+
+        CacheStats(long hits, long negativeHits, long misses, long evictions, long expirations, int size) {
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getNegativeHits() {
+            return negativeHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Rasio hit (positif dan negatif) terhadap semua pencarian
+         */
+        public double getHitRate() {
+            long requests = hits + negativeHits + misses;
+            return requests == 0 ? 0.0 : (double) (hits + negativeHits) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "hits=" + hits +
+                    ", negativeHits=" + negativeHits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", expirations=" + expirations +
+                    ", size=" + size +
+                    ", hitRate=" + String.format("%.2f", getHitRate()) +
+                    '}';
+        }
+    }
+}
@@ -1,29 +1,124 @@
 package com.kafkaapp.common.repository;
 
+import com.kafkaapp.common.config.AppConfig;
 import com.kafkaapp.common.config.DatabaseConfig;
+import com.kafkaapp.common.jfr.SqlStatementEvent;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+import com.kafkaapp.common.metrics.Timer;
 import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
 import com.kafkaapp.common.model.Task.TaskStatus;
+import com.kafkaapp.common.utils.TaskIdGenerator;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementasi MySQL dari TaskRepository
+ * <p>
+ * Kolom id dapat disimpan sebagai VARCHAR(36) (default) atau BINARY(16) dengan
+ * {@code db.id.storage=binary}. Pada mode biner konversi dilakukan di MySQL dengan
+ * UUID_TO_BIN/BIN_TO_UUID, sehingga API repository tetap memakai ID string.
+ * <p>
+ * Durasi setiap operasi dan kondisi pool koneksi tersedia sebagai metrik JMX di grup
+ * {@code repository} ({@code query.<operasi>}, {@code pool.active/idle/total/waiting}).
  */
 public class MySqlTaskRepository implements TaskRepository {
     private static final Logger LOGGER = Logger.getLogger(MySqlTaskRepository.class.getName());
+    private static final int DELETE_CHUNK_SIZE = 500;
+    /** Nama kolom ID (selalu string UUID) di hasil query SELECT */
+    public static final String ID_COLUMN = "id_text";
+    
     private static MySqlTaskRepository instance;
     private final HikariDataSource dataSource;
+    
+    // Ekspresi SQL untuk id, tergantung tipe kolom id (VARCHAR atau BINARY)
+    private final String idParam;
+    private final String selectColumns;
+    
+    /**
+     * Insert atau update dalam satu statement. Dengan useAffectedRows=true MySQL melaporkan
+     * 1 untuk baris baru, 2 untuk baris yang diperbarui dan 0 jika nilainya tidak berubah.
+     */
+    private final String upsertSql;
+
+    // Metrik JMX grup repository: durasi per operasi, termasuk menunggu koneksi dari pool
+    private final Timer findAllTimer = queryTimer("findAll");
+    private final Timer findPageTimer = queryTimer("findPage");
+    private final Timer findByIdTimer = queryTimer("findById");
+    private final Timer existsByIdTimer = queryTimer("existsById");
+    private final Timer upsertTimer = queryTimer("upsert");
+    private final Timer upsertAllTimer = queryTimer("upsertAll");
+    private final Timer deleteByIdTimer = queryTimer("deleteById");
+    private final Timer deleteAllByIdTimer = queryTimer("deleteAllById");
+    private final Timer deleteAllTimer = queryTimer("deleteAll");
 
     private MySqlTaskRepository() {
         this.dataSource = DatabaseConfig.getDataSource();
-        initializeTable();
+        
+        boolean binaryIds = initializeTable("binary".equalsIgnoreCase(
+                AppConfig.getProperty("db.id.storage", "varchar")));
+        this.idParam = binaryIds ? "UUID_TO_BIN(?)" : "?";
+        // Alias berbeda dari kolom id agar ORDER BY dan keyset tetap memakai kolom asli (dan index
+        // idx_tasks_created_at), bukan hasil BIN_TO_UUID yang dibandingkan sebagai string
+        this.selectColumns = (binaryIds ? "BIN_TO_UUID(id)" : "id") + " AS " + ID_COLUMN
+                + ", title, description, status, created_at, updated_at";
+        this.upsertSql = "INSERT INTO tasks (id, title, description, status) "
+                + "VALUES (" + idParam + ", ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), "
+                + "status = VALUES(status)";
+        registerPoolGauges();
+    }
+
+    private static Timer queryTimer(String operation) {
+        return MetricsRegistry.getInstance().timer("repository", "query." + operation);
+    }
+
+    /**
+     * Gauge pool koneksi Hikari: koneksi aktif, idle, total dan thread yang menunggu koneksi.
+     * Bernilai -1 jika pool belum berjalan.
+     */
+    private void registerPoolGauges() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("repository", "pool.active", () -> poolValue(HikariPoolMXBean::getActiveConnections));
+        metrics.gauge("repository", "pool.idle", () -> poolValue(HikariPoolMXBean::getIdleConnections));
+        metrics.gauge("repository", "pool.total", () -> poolValue(HikariPoolMXBean::getTotalConnections));
+        metrics.gauge("repository", "pool.waiting", () -> poolValue(HikariPoolMXBean::getThreadsAwaitingConnection));
+    }
+
+    /**
+     * Catat event JFR untuk satu operasi jika perekaman aktif dan durasinya melewati threshold
+     */
+    private static void commitStatementEvent(SqlStatementEvent event, String operation, String taskId, int rowCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.taskId = taskId;
+            event.rowCount = rowCount;
+            event.commit();
+        }
+    }
+
+    private long poolValue(ToIntFunction<HikariPoolMXBean> reader) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? reader.applyAsInt(pool) : -1;
     }
 
     /**
@@ -39,11 +134,17 @@ public class MySqlTaskRepository implements TaskRepository {
     }
 
     /**
-     * Memastikan tabel tasks ada di database
+     * Memastikan tabel tasks ada di database dan menentukan tipe kolom id yang dipakai.
+     * <p>
+     * Jika tabel lama masih memakai VARCHAR sementara BINARY diminta, id dimigrasi hanya jika
+     * {@code db.id.migrate=true}; selain itu repository tetap memakai tipe yang ada di tabel.
+     * 
+     * @param binaryRequested true jika konfigurasi meminta id BINARY(16)
+     * @return true jika kolom id di tabel bertipe BINARY
      */
-    private void initializeTable() {
+    private boolean initializeTable(boolean binaryRequested) {
         String createTableSQL = "CREATE TABLE IF NOT EXISTS tasks ("
-                + "id VARCHAR(36) PRIMARY KEY,"
+                + (binaryRequested ? "id BINARY(16) PRIMARY KEY," : "id VARCHAR(36) PRIMARY KEY,")
                 + "title VARCHAR(255) NOT NULL,"
                 + "description TEXT,"
                 + "status VARCHAR(20) NOT NULL,"
@@ -54,107 +155,221 @@ public class MySqlTaskRepository implements TaskRepository {
         try (Connection conn = dataSource.getConnection();
                 Statement stmt = conn.createStatement()) {
             stmt.execute(createTableSQL);
-            LOGGER.info("Tabel tasks berhasil diinisialisasi");
+            
+            boolean binaryIds = isBinaryIdColumn(conn);
+            if (binaryRequested && !binaryIds) {
+                if (Boolean.parseBoolean(AppConfig.getProperty("db.id.migrate", "false"))) {
+                    migrateIdsToBinary(conn, stmt);
+                    binaryIds = true;
+                } else {
+                    LOGGER.warning("db.id.storage=binary tetapi kolom tasks.id masih VARCHAR. "
+                            + "Set db.id.migrate=true atau jalankan db/migration/task-ids-binary.sql; "
+                            + "sementara tetap memakai VARCHAR");
+                }
+            } else if (!binaryRequested && binaryIds) {
+                LOGGER.warning("Kolom tasks.id bertipe BINARY, memakai mode id biner");
+            }
+            
+            ensureCreatedAtIndex(conn, stmt);
+            
+            LOGGER.info("Tabel tasks berhasil diinisialisasi (id " + (binaryIds ? "BINARY(16)" : "VARCHAR(36)") + ")");
+            return binaryIds;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Gagal menginisialisasi tabel tasks", e);
+            return binaryRequested;
+        }
+    }
+
+    /**
+     * Membuat index (created_at, id) untuk pengurutan dan keyset pagination jika belum ada.
+     * Index yang kehilangan kolom id (misalnya setelah migrasi id manual versi lama) dibuat ulang.
+     */
+    private void ensureCreatedAtIndex(Connection conn, Statement stmt) throws SQLException {
+        List<String> columns = createdAtIndexColumns(conn);
+        if (columns.equals(Arrays.asList("created_at", "id"))) {
+            return;
+        }
+        if (!columns.isEmpty()) {
+            LOGGER.warning("Index idx_tasks_created_at berisi " + columns + ", dibuat ulang pada (created_at, id)");
+            stmt.execute("DROP INDEX idx_tasks_created_at ON tasks");
+        }
+        stmt.execute("CREATE INDEX idx_tasks_created_at ON tasks (created_at, id)");
+        LOGGER.info("Index idx_tasks_created_at berhasil dibuat");
+    }
+
+    /**
+     * Kolom index idx_tasks_created_at sesuai urutannya, kosong jika index belum ada
+     */
+    private List<String> createdAtIndexColumns(Connection conn) throws SQLException {
+        String sql = "SELECT COLUMN_NAME FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tasks' AND INDEX_NAME = 'idx_tasks_created_at' "
+                + "ORDER BY SEQ_IN_INDEX";
+        
+        List<String> columns = new ArrayList<>();
+        try (Statement check = conn.createStatement();
+                ResultSet rs = check.executeQuery(sql)) {
+            while (rs.next()) {
+                columns.add(rs.getString(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Memeriksa tipe kolom id di tabel tasks
+     */
+    private boolean isBinaryIdColumn(Connection conn) throws SQLException {
+        String sql = "SELECT DATA_TYPE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tasks' AND COLUMN_NAME = 'id'";
+        
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() && "binary".equalsIgnoreCase(rs.getString(1));
         }
     }
 
+    /**
+     * Migrasi kolom id dari VARCHAR(36) ke BINARY(16).
+     * Statement yang sama tersedia di resources db/migration/task-ids-binary.sql untuk dijalankan manual.
+     */
+    private void migrateIdsToBinary(Connection conn, Statement stmt) throws SQLException {
+        LOGGER.info("Memigrasi kolom tasks.id dari VARCHAR(36) ke BINARY(16)");
+        stmt.execute("ALTER TABLE tasks ADD COLUMN id_bin BINARY(16) NULL");
+        int migrated = stmt.executeUpdate("UPDATE tasks SET id_bin = UUID_TO_BIN(id)");
+        // DROP COLUMN id juga membuang id dari index (created_at, id), jadi index dibuat ulang dengan kolom baru
+        String dropIndex = createdAtIndexColumns(conn).isEmpty() ? "" : "DROP INDEX idx_tasks_created_at, ";
+        stmt.execute("ALTER TABLE tasks " + dropIndex + "DROP PRIMARY KEY, DROP COLUMN id, "
+                + "CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id), "
+                + "ADD INDEX idx_tasks_created_at (created_at, id)");
+        LOGGER.info("Migrasi id selesai, " + migrated + " baris dikonversi");
+    }
+
     @Override
-    public List<Task> findAll() {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks ORDER BY created_at DESC";
+    public List<TaskSnapshot> findAll() {
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        List<TaskSnapshot> tasks = new ArrayList<>();
+        String sql = "SELECT " + selectColumns + " FROM tasks ORDER BY created_at DESC, id DESC";
 
         try (Connection conn = dataSource.getConnection();
                 Statement stmt = conn.createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Task task = mapResultSetToTask(rs);
+                TaskSnapshot task = mapResultSetToTask(rs);
                 tasks.add(task);
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Gagal mengambil daftar tasks", e);
+        } finally {
+            findAllTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "findAll", null, tasks.size());
         }
 
         return tasks;
     }
 
     @Override
-    public Optional<Task> findById(String id) {
-        String sql = "SELECT * FROM tasks WHERE id = ?";
+    public List<TaskSnapshot> findPage(LocalDateTime afterCreatedAt, String afterId, int limit) {
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        List<TaskSnapshot> tasks = new ArrayList<>(limit);
+        boolean firstPage = afterCreatedAt == null || afterId == null;
+        String sql = "SELECT " + selectColumns + " FROM tasks "
+                + (firstPage ? "" : "WHERE created_at < ? OR (created_at = ? AND id < " + idParam + ") ")
+                + "ORDER BY created_at DESC, id DESC LIMIT ?";
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, id);
+            int index = 1;
+            if (!firstPage) {
+                stmt.setObject(index++, afterCreatedAt);
+                stmt.setObject(index++, afterCreatedAt);
+                stmt.setString(index++, afterId);
+            }
+            stmt.setInt(index, limit);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Task task = mapResultSetToTask(rs);
-                    return Optional.of(task);
+                while (rs.next()) {
+                    tasks.add(mapResultSetToTask(rs));
                 }
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Gagal mencari task dengan id: " + id, e);
+            LOGGER.log(Level.SEVERE, "Gagal mengambil halaman tasks", e);
+        } finally {
+            findPageTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "findPage", null, tasks.size());
         }
 
-        return Optional.empty();
+        return tasks;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Memakai result set forward-only dan read-only dengan fetch size Integer.MIN_VALUE, sehingga
+     * MySQL Connector/J mengirim baris satu per satu alih-alih memuat semuanya ke heap. Koneksi
+     * dipegang sampai stream ditutup.
+     */
     @Override
-    public Task save(Task task) {
-        if (task.getId() == null || task.getId().isEmpty() || !existsById(task.getId())) {
-            return insert(task);
-        } else {
-            return update(task);
-        }
-    }
-
-    private Task insert(Task task) {
-        String sql = "INSERT INTO tasks (id, title, description, status) VALUES (?, ?, ?, ?)";
-        
-        // Generate new ID jika belum ada
-        if (task.getId() == null || task.getId().isEmpty()) {
-            task.setId(UUID.randomUUID().toString());
-        }
+    public Stream<TaskSnapshot> streamAll() {
+        String sql = "SELECT " + selectColumns + " FROM tasks ORDER BY created_at DESC, id DESC";
         
         Connection conn = null;
+        PreparedStatement stmt = null;
         try {
             conn = dataSource.getConnection();
-            conn.setAutoCommit(false); // Mulai transaksi
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            ResultSet rs = stmt.executeQuery();
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, task.getId());
-                stmt.setString(2, task.getTitle());
-                stmt.setString(3, task.getDescription());
-                stmt.setString(4, task.getStatus().toString());
-                
-                int affectedRows = stmt.executeUpdate();
-                
-                if (affectedRows == 0) {
-                    throw new SQLException("Gagal membuat task, tidak ada baris yang terpengaruh.");
+            Connection streamConn = conn;
+            PreparedStatement streamStmt = stmt;
+            Spliterator<TaskSnapshot> spliterator = new Spliterators.AbstractSpliterator<TaskSnapshot>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super TaskSnapshot> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapResultSetToTask(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Gagal membaca stream tasks: " + e.getMessage(), e);
+                    }
                 }
-                
-                conn.commit(); // Commit transaksi
-                LOGGER.info("Task berhasil disimpan dengan id: " + task.getId());
-                return task;
-            }
+            };
+            
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> closeStreamResources(rs, streamStmt, streamConn));
         } catch (SQLException e) {
-            // Rollback transaksi jika terjadi error
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    LOGGER.log(Level.SEVERE, "Gagal rollback transaksi", ex);
-                }
+            closeStreamResources(null, stmt, conn);
+            LOGGER.log(Level.SEVERE, "Gagal membuka stream tasks", e);
+            throw new RuntimeException("Gagal membuka stream tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Menutup resource stream. Menutup result set streaming yang belum habis dibaca
+     * akan membuang sisa baris dari koneksi sebelum koneksi dikembalikan ke pool.
+     */
+    private void closeStreamResources(ResultSet rs, Statement stmt, Connection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
             }
-            LOGGER.log(Level.SEVERE, "Gagal menyimpan task", e);
-            throw new RuntimeException("Gagal menyimpan task: " + e.getMessage(), e);
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Gagal menutup result set stream", e);
         } finally {
             if (conn != null) {
                 try {
-                    conn.setAutoCommit(true); // Reset autocommit
                     conn.close();
                 } catch (SQLException e) {
                     LOGGER.log(Level.SEVERE, "Gagal menutup koneksi", e);
@@ -163,80 +378,237 @@ public class MySqlTaskRepository implements TaskRepository {
         }
     }
 
-    private Task update(Task task) {
-        String sql = "UPDATE tasks SET title = ?, description = ?, status = ? WHERE id = ?";
+    @Override
+    public Optional<TaskSnapshot> findById(String id) {
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        String sql = "SELECT " + selectColumns + " FROM tasks WHERE id = " + idParam;
+        int rowCount = 0;
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    rowCount = 1;
+                    TaskSnapshot task = mapResultSetToTask(rs);
+                    return Optional.of(task);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Gagal mencari task dengan id: " + id, e);
+        } finally {
+            findByIdTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "findById", id, rowCount);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public TaskSnapshot save(TaskSnapshot task) {
+        TaskSnapshot saved = withIdIfMissing(task);
+        upsert(saved);
+        return saved;
+    }
+
+    @Override
+    public UpsertResult upsert(TaskSnapshot task) {
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        task = withIdIfMissing(task);
+        
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+            
+            bindUpsert(stmt, task);
+            UpsertResult result = UpsertResult.fromAffectedRows(stmt.executeUpdate());
+            
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Task berhasil disimpan dengan id: " + task.getId() + " (" + result + ")");
+            }
+            return result;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Gagal menyimpan task dengan id: " + task.getId(), e);
+            throw new RuntimeException("Gagal menyimpan task: " + e.getMessage(), e);
+        } finally {
+            upsertTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "upsert", task.getId(), 1);
+        }
+    }
+
+    @Override
+    public List<TaskSnapshot> saveAll(List<TaskSnapshot> tasks) {
+        List<TaskSnapshot> saved = new ArrayList<>(tasks.size());
+        for (TaskSnapshot task : tasks) {
+            saved.add(withIdIfMissing(task));
+        }
+        upsertAll(saved);
+        return saved;
+    }
+
+    @Override
+    public List<UpsertResult> upsertAll(List<TaskSnapshot> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
         
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
         Connection conn = null;
         try {
             conn = dataSource.getConnection();
             conn.setAutoCommit(false); // Mulai transaksi
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, task.getTitle());
-                stmt.setString(2, task.getDescription());
-                stmt.setString(3, task.getStatus().toString());
-                stmt.setString(4, task.getId());
-                
-                int affectedRows = stmt.executeUpdate();
-                
-                if (affectedRows == 0) {
-                    throw new SQLException("Gagal memperbarui task, task dengan id: " + task.getId() + " tidak ditemukan.");
+            try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+                for (TaskSnapshot task : tasks) {
+                    bindUpsert(stmt, withIdIfMissing(task));
+                    stmt.addBatch();
                 }
                 
+                int[] affectedRows = stmt.executeBatch();
                 conn.commit(); // Commit transaksi
-                LOGGER.info("Task berhasil diperbarui dengan id: " + task.getId());
-                return task;
-            }
-        } catch (SQLException e) {
-            // Rollback transaksi jika terjadi error
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    LOGGER.log(Level.SEVERE, "Gagal rollback transaksi", ex);
+                
+                // Dengan rewriteBatchedStatements=true batch digabung menjadi satu statement multi-row,
+                // sehingga driver melaporkan SUCCESS_NO_INFO per baris dan hasilnya UNKNOWN
+                List<UpsertResult> results = new ArrayList<>(affectedRows.length);
+                for (int rows : affectedRows) {
+                    results.add(UpsertResult.fromAffectedRows(rows));
                 }
+                LOGGER.fine(() -> "Batch " + tasks.size() + " task berhasil disimpan");
+                return results;
             }
-            LOGGER.log(Level.SEVERE, "Gagal memperbarui task dengan id: " + task.getId(), e);
-            throw new RuntimeException("Gagal memperbarui task: " + e.getMessage(), e);
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            LOGGER.log(Level.SEVERE, "Gagal menyimpan batch " + tasks.size() + " task", e);
+            throw new RuntimeException("Gagal menyimpan batch task: " + e.getMessage(), e);
         } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true); // Reset autocommit
-                    conn.close();
-                } catch (SQLException e) {
-                    LOGGER.log(Level.SEVERE, "Gagal menutup koneksi", e);
-                }
-            }
+            closeQuietly(conn);
+            upsertAllTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "upsertAll", null, tasks.size());
+        }
+    }
+
+    /**
+     * Generate ID baru jika task belum memiliki ID
+     */
+    private static TaskSnapshot withIdIfMissing(TaskSnapshot task) {
+        if (task.getId() == null || task.getId().isEmpty()) {
+            return task.withId(TaskIdGenerator.newId());
         }
+        return task;
+    }
+
+    /**
+     * Mengisi parameter {@link #upsertSql} dari task
+     */
+    private void bindUpsert(PreparedStatement stmt, TaskSnapshot task) throws SQLException {
+        stmt.setString(1, task.getId());
+        stmt.setString(2, task.getTitle());
+        stmt.setString(3, task.getDescription());
+        stmt.setString(4, task.getStatus().toString());
     }
 
     @Override
     public boolean deleteById(String id) {
-        String sql = "DELETE FROM tasks WHERE id = ?";
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        String sql = "DELETE FROM tasks WHERE id = " + idParam;
+        int affectedRows = 0;
         
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, id);
             
-            int affectedRows = stmt.executeUpdate();
+            affectedRows = stmt.executeUpdate();
             
             if (affectedRows == 0) {
                 LOGGER.warning("Tidak ada task yang dihapus dengan id: " + id);
                 return false;
             }
             
-            LOGGER.info("Task berhasil dihapus dengan id: " + id);
+            LOGGER.fine(() -> "Task berhasil dihapus dengan id: " + id);
             return true;
             
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Gagal menghapus task dengan id: " + id, e);
-            return false;
+            throw new RuntimeException("Gagal menghapus task: " + e.getMessage(), e);
+        } finally {
+            deleteByIdTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "deleteById", id, affectedRows);
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        Connection conn = null;
+        try {
+            conn = dataSource.getConnection();
+            conn.setAutoCommit(false); // Mulai transaksi
+            
+            int deleted = 0;
+            Iterator<String> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                List<String> chunk = new ArrayList<>(DELETE_CHUNK_SIZE);
+                while (iterator.hasNext() && chunk.size() < DELETE_CHUNK_SIZE) {
+                    chunk.add(iterator.next());
+                }
+                deleted += deleteChunk(conn, chunk);
+            }
+            
+            conn.commit(); // Commit transaksi
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Batch hapus selesai: " + deleted + " dari " + ids.size() + " task terhapus");
+            }
+            return deleted;
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            LOGGER.log(Level.SEVERE, "Gagal menghapus batch " + ids.size() + " task", e);
+            throw new RuntimeException("Gagal menghapus batch task: " + e.getMessage(), e);
+        } finally {
+            closeQuietly(conn);
+            deleteAllByIdTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "deleteAllById", null, ids.size());
+        }
+    }
+
+    /**
+     * Menghapus satu potongan ID dengan satu statement DELETE ... IN (...)
+     */
+    private int deleteChunk(Connection conn, List<String> ids) throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM tasks WHERE id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(idParam);
+        }
+        sql.append(')');
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setString(i + 1, ids.get(i));
+            }
+            return stmt.executeUpdate();
         }
     }
 
     @Override
     public void deleteAll() {
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
         String sql = "DELETE FROM tasks";
         
         try (Connection conn = dataSource.getConnection();
@@ -247,12 +619,18 @@ public class MySqlTaskRepository implements TaskRepository {
             
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Gagal menghapus semua task", e);
+        } finally {
+            deleteAllTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "deleteAll", null, 0);
         }
     }
 
     @Override
     public boolean existsById(String id) {
-        String sql = "SELECT COUNT(*) FROM tasks WHERE id = ?";
+        long start = System.nanoTime();
+        SqlStatementEvent statementEvent = new SqlStatementEvent();
+        statementEvent.begin();
+        String sql = "SELECT COUNT(*) FROM tasks WHERE id = " + idParam;
         
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -267,24 +645,57 @@ public class MySqlTaskRepository implements TaskRepository {
             
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Gagal memeriksa keberadaan task dengan id: " + id, e);
+        } finally {
+            existsByIdTimer.recordSince(start);
+            commitStatementEvent(statementEvent, "existsById", id, 1);
         }
         
         return false;
     }
 
     /**
-     * Memetakan ResultSet ke Task object
+     * Rollback transaksi tanpa melempar exception
+     */
+    private void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                LOGGER.log(Level.SEVERE, "Gagal rollback transaksi", ex);
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan autocommit dan menutup koneksi tanpa melempar exception
+     */
+    private void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true); // Reset autocommit
+                conn.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Gagal menutup koneksi", e);
+            }
+        }
+    }
+
+    /**
+     * Memetakan baris ResultSet saat ini ke Task object.
+     * Static dan public agar bisa diukur di benchmark tanpa koneksi database.
      * 
      * @param rs ResultSet
      * @return Task
      * @throws SQLException jika terjadi error
      */
-    private Task mapResultSetToTask(ResultSet rs) throws SQLException {
-        Task task = new Task();
-        task.setId(rs.getString("id"));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
-        return task;
+    public static TaskSnapshot mapResultSetToTask(ResultSet rs) throws SQLException {
+        // Constructor lengkap: tanpa UUID acak dan pembacaan jam yang akan langsung ditimpa
+        return new TaskSnapshot(
+                rs.getString(ID_COLUMN),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class));
     }
 } 
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.kafkaapp.common.repository;
 
 import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Interface repository untuk operasi CRUD Task
@@ -15,15 +22,99 @@ public interface TaskRepository {
      * 
      * @return List dari task
      */
-    List<Task> findAll();
+    List<TaskSnapshot> findAll();
     
+    /**
+     * Urutan halaman: task terbaru lebih dulu, ID sebagai penentu jika waktu pembuatan sama
+     */
+    Comparator<TaskSnapshot> PAGE_ORDER = Comparator
+            .comparing(TaskSnapshot::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TaskSnapshot::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+    
+    /**
+     * Mendapatkan satu halaman task dengan keyset pagination, urut dari yang terbaru.
+     * Halaman berikutnya diambil dengan createdAt dan id dari task terakhir di halaman sebelumnya.
+     * Implementasi default mengurutkan hasil {@link #findAll()}.
+     * 
+     * @param afterCreatedAt createdAt task terakhir dari halaman sebelumnya, null untuk halaman pertama
+     * @param afterId ID task terakhir dari halaman sebelumnya, null untuk halaman pertama
+     * @param limit Jumlah maksimum task dalam halaman
+     * @return Task dalam halaman
+     */
+    default List<TaskSnapshot> findPage(LocalDateTime afterCreatedAt, String afterId, int limit) {
+        Stream<TaskSnapshot> tasks = findAll().stream().sorted(PAGE_ORDER);
+        if (afterCreatedAt != null && afterId != null) {
+            TaskSnapshot cursor = new TaskSnapshot(afterId, null, null, null, afterCreatedAt, null);
+            tasks = tasks.filter(task -> PAGE_ORDER.compare(task, cursor) > 0);
+        }
+        return tasks.limit(limit).collect(Collectors.toList());
+    }
+    
+    /**
+     * Membaca semua task sebagai stream tanpa memuat semuanya ke memory sekaligus.
+     * Stream harus ditutup (misalnya dengan try-with-resources) agar resource dilepas.
+     * Implementasi default memakai {@link #findAll()}.
+     * 
+     * @return Stream task, urut dari yang terbaru
+     */
+    default Stream<TaskSnapshot> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * Mendapatkan semua task dengan status tertentu.
+     * Implementasi default memfilter hasil {@link #findAll()}.
+     *
+     * @param status Status task
+     * @return List task dengan status tersebut, tanpa urutan tertentu
+     */
+    default List<TaskSnapshot> findByStatus(Task.TaskStatus status) {
+        return findAll().stream()
+                .filter(task -> task.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Menghitung jumlah task dengan status tertentu
+     *
+     * @param status Status task
+     * @return Jumlah task
+     */
+    default int countByStatus(Task.TaskStatus status) {
+        return findByStatus(status).size();
+    }
+
+    /**
+     * Mendapatkan task yang paling baru dibuat
+     *
+     * @param limit Jumlah maksimum task
+     * @return List task, urut dari yang terbaru dibuat
+     */
+    default List<TaskSnapshot> findRecent(int limit) {
+        return findPage(null, null, limit);
+    }
+
+    /**
+     * Mendapatkan task yang paling baru diubah
+     *
+     * @param limit Jumlah maksimum task
+     * @return List task, urut dari yang terbaru diubah
+     */
+    default List<TaskSnapshot> findRecentlyUpdated(int limit) {
+        return findAll().stream()
+                .sorted(Comparator.comparing(TaskSnapshot::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(TaskSnapshot::getId, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Mencari task berdasarkan ID
      * 
      * @param id ID task
      * @return Optional berisi task jika ditemukan
      */
-    Optional<Task> findById(String id);
+    Optional<TaskSnapshot> findById(String id);
     
     /**
      * Menyimpan task baru
@@ -31,16 +122,79 @@ public interface TaskRepository {
      * @param task Task yang akan disimpan
      * @return Task yang disimpan (dengan ID jika baru)
      */
-    Task save(Task task);
+    TaskSnapshot save(TaskSnapshot task);
+    
+    /**
+     * Menyimpan task dan melaporkan apakah baris baru dibuat atau baris lama diperbarui.
+     * Implementasi default memeriksa keberadaan task sebelum memanggil {@link #save(TaskSnapshot)}.
+     * 
+     * @param task Task yang akan disimpan
+     * @return Hasil upsert
+     */
+    default UpsertResult upsert(TaskSnapshot task) {
+        boolean existed = task.getId() != null && existsById(task.getId());
+        save(task);
+        return existed ? UpsertResult.UPDATED : UpsertResult.INSERTED;
+    }
+    
+    /**
+     * Menyimpan banyak task sekaligus dan melaporkan hasil upsert setiap task.
+     * Implementasi default memanggil {@link #upsert(TaskSnapshot)} untuk setiap task. Implementasi
+     * yang menggabungkan batch (misalnya MySQL dengan rewriteBatchedStatements) dapat mengembalikan
+     * {@link UpsertResult#UNKNOWN} untuk setiap task.
+     * 
+     * @param tasks Task yang akan disimpan
+     * @return Hasil upsert dengan urutan yang sama seperti tasks
+     */
+    default List<UpsertResult> upsertAll(List<TaskSnapshot> tasks) {
+        List<UpsertResult> results = new ArrayList<>(tasks.size());
+        for (TaskSnapshot task : tasks) {
+            results.add(upsert(task));
+        }
+        return results;
+    }
+    
+    /**
+     * Menyimpan banyak task sekaligus.
+     * Implementasi default memanggil {@link #save(TaskSnapshot)} untuk setiap task.
+     * 
+     * @param tasks Task yang akan disimpan
+     * @return Task yang disimpan, dengan urutan yang sama
+     */
+    default List<TaskSnapshot> saveAll(List<TaskSnapshot> tasks) {
+        List<TaskSnapshot> saved = new ArrayList<>(tasks.size());
+        for (TaskSnapshot task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
     
     /**
-     * Menghapus task berdasarkan ID
+     * Menghapus task berdasarkan ID. Kegagalan storage dilempar sebagai RuntimeException,
+     * bukan dilaporkan sebagai false.
      * 
      * @param id ID task
-     * @return true jika berhasil dihapus
+     * @return true jika berhasil dihapus, false jika task tidak ditemukan
      */
     boolean deleteById(String id);
     
+    /**
+     * Menghapus banyak task sekaligus berdasarkan ID.
+     * Implementasi default memanggil {@link #deleteById(String)} untuk setiap ID.
+     * 
+     * @param ids ID task yang akan dihapus
+     * @return Jumlah task yang benar-benar terhapus
+     */
+    default int deleteAllById(Collection<String> ids) {
+        int deleted = 0;
+        for (String id : ids) {
+            if (deleteById(id)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+    
     /**
      * Menghapus semua task
      */
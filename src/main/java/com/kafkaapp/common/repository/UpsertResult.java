@@ -0,0 +1,35 @@
+package com.kafkaapp.common.repository;
+
+/**
+ * Hasil dari operasi upsert satu baris task
+ */
+public enum UpsertResult {
+    /** Baris baru dibuat */
+    INSERTED,
+    /** Baris yang sudah ada diperbarui */
+    UPDATED,
+    /** Baris sudah ada dengan nilai yang sama, tidak ada perubahan */
+    UNCHANGED,
+    /** Driver tidak melaporkan jumlah baris (misalnya pada batch yang digabung) */
+    UNKNOWN;
+
+    /**
+     * Menerjemahkan jumlah baris terpengaruh dari MySQL untuk
+     * INSERT ... ON DUPLICATE KEY UPDATE (dengan useAffectedRows=true)
+     *
+     * @param affectedRows Jumlah baris terpengaruh yang dilaporkan driver
+     * @return UpsertResult yang sesuai
+     */
+    public static UpsertResult fromAffectedRows(int affectedRows) {
+        switch (affectedRows) {
+            case 0:
+                return UNCHANGED;
+            case 1:
+                return INSERTED;
+            case 2:
+                return UPDATED;
+            default:
+                return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kafkaapp.common.serialization;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Format dan parse LocalDateTime dengan output yang identik dengan
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, tanpa overhead DateTimeFormatter
+ * untuk kasus umum (tahun 0000-9999).
+ */
+final class IsoTimestamps {
+    private static final DateTimeFormatter FALLBACK = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private IsoTimestamps() {
+        // Utility class
+    }
+
+    static String format(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return FALLBACK.format(value);
+        }
+
+        char[] chars = new char[29];
+        int pos = 0;
+        pos = putDigits(chars, pos, year, 4);
+        chars[pos++] = '-';
+        pos = putDigits(chars, pos, value.getMonthValue(), 2);
+        chars[pos++] = '-';
+        pos = putDigits(chars, pos, value.getDayOfMonth(), 2);
+        chars[pos++] = 'T';
+        pos = putDigits(chars, pos, value.getHour(), 2);
+        chars[pos++] = ':';
+        pos = putDigits(chars, pos, value.getMinute(), 2);
+        chars[pos++] = ':';
+        pos = putDigits(chars, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            // Sama seperti ISO_LOCAL_TIME: pecahan detik tanpa nol di belakang
+            chars[pos++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            pos = putDigits(chars, pos, nano, digits);
+        }
+        return new String(chars, 0, pos);
+    }
+
+    static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return LocalDateTime.parse(text, FALLBACK);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        int nano = 0;
+
+        if (length > 19) {
+            int fractionDigits = length - 20;
+            if (text.charAt(19) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                return LocalDateTime.parse(text, FALLBACK);
+            }
+            nano = digits(text, 20, fractionDigits);
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return LocalDateTime.parse(text, FALLBACK);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static int putDigits(char[] chars, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    /**
+     * Parse angka desimal, atau -1 jika ada karakter yang bukan digit
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
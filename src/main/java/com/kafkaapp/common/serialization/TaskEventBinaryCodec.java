@@ -0,0 +1,214 @@
+package com.kafkaapp.common.serialization;
+
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Encoding biner ringkas untuk TaskEvent.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * byte    versi format (1)
+ * byte    ordinal EventType, -1 jika null
+ * long    eventTime dalam epoch mikrodetik UTC
+ * byte    1 jika task ada, 0 jika null
+ * -- task --
+ * byte    jenis id: 0 null, 1 UUID (16 byte), 2 string
+ * ...     id
+ * string  title
+ * string  description
+ * byte    ordinal TaskStatus, -1 jika null
+ * long    createdAt dalam epoch mikrodetik UTC
+ * long    updatedAt dalam epoch mikrodetik UTC
+ * </pre>
+ * String ditulis sebagai panjang int32 (-1 untuk null) diikuti byte UTF-8.
+ * Timestamp null ditulis sebagai {@link Long#MIN_VALUE}.
+ */
+public final class TaskEventBinaryCodec {
+    private static final byte VERSION = 1;
+    private static final byte ID_NULL = 0;
+    private static final byte ID_UUID = 1;
+    private static final byte ID_STRING = 2;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final TaskEvent.EventType[] EVENT_TYPES = TaskEvent.EventType.values();
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private TaskEventBinaryCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encode TaskEvent ke byte array
+     *
+     * @param event TaskEvent yang akan di-encode
+     * @return Payload biner
+     */
+    public static byte[] encode(TaskEvent event) {
+        TaskSnapshot task = event.getTask();
+
+        UUID uuid = null;
+        byte[] idBytes = null;
+        byte[] titleBytes = null;
+        byte[] descriptionBytes = null;
+
+        int size = 1 + 1 + 8 + 1;
+        if (task != null) {
+            size += 1;
+            if (task.getId() != null) {
+                uuid = parseUuid(task.getId());
+                if (uuid != null) {
+                    size += 16;
+                } else {
+                    idBytes = task.getId().getBytes(StandardCharsets.UTF_8);
+                    size += 4 + idBytes.length;
+                }
+            }
+            titleBytes = utf8(task.getTitle());
+            descriptionBytes = utf8(task.getDescription());
+            size += stringSize(titleBytes) + stringSize(descriptionBytes) + 1 + 8 + 8;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.put(event.getEventType() != null ? (byte) event.getEventType().ordinal() : -1);
+        buffer.putLong(toEpochMicros(event.getEventTime()));
+        buffer.put(task != null ? (byte) 1 : (byte) 0);
+
+        if (task != null) {
+            if (uuid != null) {
+                buffer.put(ID_UUID);
+                buffer.putLong(uuid.getMostSignificantBits());
+                buffer.putLong(uuid.getLeastSignificantBits());
+            } else if (idBytes != null) {
+                buffer.put(ID_STRING);
+                putString(buffer, idBytes);
+            } else {
+                buffer.put(ID_NULL);
+            }
+            putString(buffer, titleBytes);
+            putString(buffer, descriptionBytes);
+            buffer.put(task.getStatus() != null ? (byte) task.getStatus().ordinal() : -1);
+            buffer.putLong(toEpochMicros(task.getCreatedAt()));
+            buffer.putLong(toEpochMicros(task.getUpdatedAt()));
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Decode payload biner menjadi TaskEvent
+     *
+     * @param data Payload biner
+     * @return TaskEvent hasil decode
+     * @throws IllegalArgumentException jika payload tidak valid
+     */
+    public static TaskEvent decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Versi format biner tidak didukung: " + version);
+            }
+
+            byte eventTypeOrdinal = buffer.get();
+            LocalDateTime eventTime = fromEpochMicros(buffer.getLong());
+            boolean hasTask = buffer.get() == 1;
+
+            TaskSnapshot task = null;
+            if (hasTask) {
+                String id;
+                byte idKind = buffer.get();
+                if (idKind == ID_UUID) {
+                    id = new UUID(buffer.getLong(), buffer.getLong()).toString();
+                } else if (idKind == ID_STRING) {
+                    id = getString(buffer);
+                } else {
+                    id = null;
+                }
+                String title = getString(buffer);
+                String description = getString(buffer);
+                byte statusOrdinal = buffer.get();
+                LocalDateTime createdAt = fromEpochMicros(buffer.getLong());
+                LocalDateTime updatedAt = fromEpochMicros(buffer.getLong());
+
+                task = new TaskSnapshot(id, title, description,
+                        statusOrdinal >= 0 ? STATUSES[statusOrdinal] : null,
+                        createdAt, updatedAt);
+            }
+
+            return new TaskEvent(eventTypeOrdinal >= 0 ? EVENT_TYPES[eventTypeOrdinal] : null, task, eventTime);
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Payload biner TaskEvent tidak valid", e);
+        }
+    }
+
+    /**
+     * Parse UUID hanya jika string berada dalam bentuk kanonik, agar hasil decode identik
+     */
+    private static UUID parseUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return 4 + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Panjang string melebihi payload: " + length);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIMESTAMP;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        if (micros == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,35 @@
+package com.kafkaapp.common.serialization;
+
+import com.kafkaapp.common.model.TaskEvent;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka Deserializer untuk TaskEvent yang memilih decoder berdasarkan header
+ * {@value TaskEventFormat#CONTENT_TYPE_HEADER}. Record tanpa header dibaca sebagai JSON.
+ */
+public class TaskEventDeserializer implements Deserializer<TaskEvent> {
+
+    @Override
+    public TaskEvent deserialize(String topic, byte[] data) {
+        return decode(TaskEventFormat.JSON, data);
+    }
+
+    @Override
+    public TaskEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header contentType = headers != null ? headers.lastHeader(TaskEventFormat.CONTENT_TYPE_HEADER) : null;
+        return decode(TaskEventFormat.fromHeader(contentType != null ? contentType.value() : null), data);
+    }
+
+    private static TaskEvent decode(TaskEventFormat format, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == TaskEventFormat.BINARY) {
+            return TaskEventBinaryCodec.decode(data);
+        }
+        return TaskEventJsonCodec.decode(data);
+    }
+}
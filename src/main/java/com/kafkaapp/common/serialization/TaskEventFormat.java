@@ -0,0 +1,60 @@
+package com.kafkaapp.common.serialization;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format payload TaskEvent di Kafka, ditandai dengan header content-type pada setiap record
+ */
+public enum TaskEventFormat {
+    JSON("application/json"),
+    BINARY("application/x-task-event-v1");
+
+    /** Nama header Kafka yang menyimpan format payload */
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+
+    private final String contentType;
+    private final byte[] contentTypeBytes;
+
+    TaskEventFormat(String contentType) {
+        this.contentType = contentType;
+        this.contentTypeBytes = contentType.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    byte[] getContentTypeBytes() {
+        return contentTypeBytes;
+    }
+
+    /**
+     * Mencari format berdasarkan nilai header content-type.
+     * Record tanpa header (dari producer lama) dianggap JSON.
+     *
+     * @param headerValue Nilai header, boleh null
+     * @return Format yang sesuai
+     */
+    public static TaskEventFormat fromHeader(byte[] headerValue) {
+        if (headerValue == null) {
+            return JSON;
+        }
+        String value = new String(headerValue, StandardCharsets.US_ASCII);
+        for (TaskEventFormat format : values()) {
+            if (format.contentType.equals(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Content-type tidak dikenal: " + value);
+    }
+
+    /**
+     * Mencari format berdasarkan nama konfigurasi (json atau binary)
+     *
+     * @param name Nama format, tidak case-sensitive
+     * @return Format yang sesuai
+     */
+    public static TaskEventFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
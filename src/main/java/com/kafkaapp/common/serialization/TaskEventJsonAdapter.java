@@ -0,0 +1,89 @@
+package com.kafkaapp.common.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * TypeAdapter streaming untuk TaskEvent tanpa refleksi
+ */
+public class TaskEventJsonAdapter extends TypeAdapter<TaskEvent> {
+    private static final TaskEvent.EventType[] EVENT_TYPES = TaskEvent.EventType.values();
+
+    private final TaskJsonAdapter taskAdapter;
+
+    public TaskEventJsonAdapter(TaskJsonAdapter taskAdapter) {
+        this.taskAdapter = taskAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, TaskEvent event) throws IOException {
+        if (event == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (event.getEventType() != null) {
+            out.name("eventType").value(event.getEventType().name());
+        }
+        if (event.getTask() != null) {
+            out.name("task");
+            taskAdapter.write(out, event.getTask());
+        }
+        TaskJsonAdapter.writeTimestamp(out, "eventTime", event.getEventTime());
+        out.endObject();
+    }
+
+    @Override
+    public TaskEvent read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        TaskEvent.EventType eventType = null;
+        TaskSnapshot task = null;
+        LocalDateTime eventTime = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "eventType":
+                    eventType = parseEventType(in.nextString());
+                    break;
+                case "task":
+                    task = taskAdapter.read(in);
+                    break;
+                case "eventTime":
+                    eventTime = TaskJsonAdapter.readTimestamp(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new TaskEvent(eventType, task, eventTime);
+    }
+
+    private static TaskEvent.EventType parseEventType(String value) {
+        for (TaskEvent.EventType eventType : EVENT_TYPES) {
+            if (eventType.name().equals(value)) {
+                return eventType;
+            }
+        }
+        return null;
+    }
+}
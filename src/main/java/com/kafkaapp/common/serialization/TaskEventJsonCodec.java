@@ -0,0 +1,71 @@
+package com.kafkaapp.common.serialization;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.kafkaapp.common.model.TaskEvent;
+
+import java.io.IOException;
+
+/**
+ * Encode dan decode JSON TaskEvent langsung dari/ke byte array memakai adapter streaming.
+ * <p>
+ * Output ditulis ringkas ke buffer per thread yang dipakai ulang, dan input dibaca langsung
+ * dari byte[] record tanpa membuat String perantara.
+ */
+public final class TaskEventJsonCodec {
+    private static final TaskJsonAdapter TASK_ADAPTER = new TaskJsonAdapter();
+    private static final TaskEventJsonAdapter EVENT_ADAPTER = new TaskEventJsonAdapter(TASK_ADAPTER);
+
+    private static final ThreadLocal<Utf8Buffers.ByteWriter> BUFFERS =
+            ThreadLocal.withInitial(() -> new Utf8Buffers.ByteWriter(512));
+
+    private TaskEventJsonCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encode TaskEvent ke JSON ringkas dalam UTF-8
+     *
+     * @param event TaskEvent yang akan di-encode
+     * @return Payload JSON
+     */
+    public static byte[] encode(TaskEvent event) {
+        Utf8Buffers.ByteWriter buffer = BUFFERS.get();
+        buffer.reset();
+        try {
+            EVENT_ADAPTER.write(new JsonWriter(buffer), event);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new JsonParseException("Gagal encode TaskEvent", e);
+        }
+    }
+
+    /**
+     * Decode JSON UTF-8 menjadi TaskEvent
+     *
+     * @param data Payload JSON
+     * @return TaskEvent hasil decode
+     */
+    public static TaskEvent decode(byte[] data) {
+        try (JsonReader reader = new JsonReader(new Utf8Buffers.ByteReader(data))) {
+            return EVENT_ADAPTER.read(reader);
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException("Gagal decode TaskEvent", e);
+        }
+    }
+
+    /**
+     * Adapter streaming untuk TaskSnapshot, dipakai juga oleh Gson di JsonUtils
+     */
+    public static TaskJsonAdapter taskAdapter() {
+        return TASK_ADAPTER;
+    }
+
+    /**
+     * Adapter streaming untuk TaskEvent, dipakai juga oleh Gson di JsonUtils
+     */
+    public static TaskEventJsonAdapter eventAdapter() {
+        return EVENT_ADAPTER;
+    }
+}
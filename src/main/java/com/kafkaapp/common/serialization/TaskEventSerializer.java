@@ -0,0 +1,62 @@
+package com.kafkaapp.common.serialization;
+
+import com.kafkaapp.common.model.TaskEvent;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka Serializer untuk TaskEvent.
+ * <p>
+ * Format dipilih lewat konfigurasi producer {@value #FORMAT_CONFIG} ({@code json} atau
+ * {@code binary}) dan dicatat di header {@value TaskEventFormat#CONTENT_TYPE_HEADER}
+ * sehingga consumer dapat memilih decoder yang tepat.
+ */
+public class TaskEventSerializer implements Serializer<TaskEvent> {
+    /** Nama konfigurasi producer untuk memilih format payload */
+    public static final String FORMAT_CONFIG = "task.event.format";
+
+    private TaskEventFormat format = TaskEventFormat.JSON;
+
+    public TaskEventSerializer() {
+    }
+
+    public TaskEventSerializer(TaskEventFormat format) {
+        this.format = format;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(FORMAT_CONFIG);
+        if (configured instanceof TaskEventFormat) {
+            format = (TaskEventFormat) configured;
+        } else if (configured != null) {
+            format = TaskEventFormat.fromName(configured.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, TaskEvent data) {
+        // Tanpa header consumer menganggap payload JSON
+        return data == null ? null : encode(TaskEventFormat.JSON, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, TaskEvent data) {
+        if (data == null) {
+            return null;
+        }
+        headers.remove(TaskEventFormat.CONTENT_TYPE_HEADER);
+        headers.add(TaskEventFormat.CONTENT_TYPE_HEADER, format.getContentTypeBytes());
+        return encode(format, data);
+    }
+
+    private static byte[] encode(TaskEventFormat format, TaskEvent data) {
+        if (format == TaskEventFormat.BINARY) {
+            return TaskEventBinaryCodec.encode(data);
+        }
+        return TaskEventJsonCodec.encode(data);
+    }
+}
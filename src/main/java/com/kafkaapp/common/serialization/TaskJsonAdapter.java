@@ -0,0 +1,136 @@
+package com.kafkaapp.common.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * TypeAdapter streaming untuk TaskSnapshot tanpa refleksi.
+ * <p>
+ * Nama field dan format output sama dengan serialisasi refleksi Gson sebelumnya
+ * (field null tidak ditulis, timestamp dalam ISO_LOCAL_DATE_TIME), sehingga payload
+ * tetap kompatibel dengan consumer lama.
+ */
+public class TaskJsonAdapter extends TypeAdapter<TaskSnapshot> {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    @Override
+    public void write(JsonWriter out, TaskSnapshot task) throws IOException {
+        if (task == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeString(out, "id", task.getId());
+        writeString(out, "title", task.getTitle());
+        writeString(out, "description", task.getDescription());
+        if (task.getStatus() != null) {
+            out.name("status").value(task.getStatus().name());
+        }
+        writeTimestamp(out, "createdAt", task.getCreatedAt());
+        writeTimestamp(out, "updatedAt", task.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public TaskSnapshot read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String title = null;
+        String description = null;
+        Task.TaskStatus status = null;
+        LocalDateTime createdAt = null;
+        LocalDateTime updatedAt = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    id = in.nextString();
+                    break;
+                case "title":
+                    title = in.nextString();
+                    break;
+                case "description":
+                    description = in.nextString();
+                    break;
+                case "status":
+                    status = parseStatus(in.nextString());
+                    break;
+                case "createdAt":
+                    createdAt = readTimestamp(in);
+                    break;
+                case "updatedAt":
+                    updatedAt = readTimestamp(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new TaskSnapshot(id, title, description, status, createdAt, updatedAt);
+    }
+
+    /**
+     * Adapter untuk Task mutable dengan format JSON yang sama, untuk batas JSON
+     *
+     * @return TypeAdapter untuk Task
+     */
+    public TypeAdapter<Task> forMutableTask() {
+        return new TypeAdapter<Task>() {
+            @Override
+            public void write(JsonWriter out, Task task) throws IOException {
+                TaskJsonAdapter.this.write(out, TaskSnapshot.from(task));
+            }
+
+            @Override
+            public Task read(JsonReader in) throws IOException {
+                TaskSnapshot task = TaskJsonAdapter.this.read(in);
+                return task == null ? null : task.toTask();
+            }
+        };
+    }
+
+    private static Task.TaskStatus parseStatus(String value) {
+        // Hindari valueOf yang melempar exception untuk nilai yang tidak dikenal, sama seperti Gson
+        for (Task.TaskStatus status : STATUSES) {
+            if (status.name().equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    static void writeTimestamp(JsonWriter out, String name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            out.name(name).value(IsoTimestamps.format(value));
+        }
+    }
+
+    static LocalDateTime readTimestamp(JsonReader in) throws IOException {
+        return IsoTimestamps.parse(in.nextString());
+    }
+}
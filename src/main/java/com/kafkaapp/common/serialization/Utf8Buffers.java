@@ -0,0 +1,168 @@
+package com.kafkaapp.common.serialization;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Writer dan Reader UTF-8 sederhana di atas byte array, tanpa CharsetEncoder/Decoder.
+ * Dipakai oleh {@link TaskEventJsonCodec} untuk menghindari buffer perantara per panggilan.
+ */
+final class Utf8Buffers {
+
+    private Utf8Buffers() {
+        // Utility class
+    }
+
+    /**
+     * Writer yang meng-encode karakter langsung ke byte array yang dapat dipakai ulang
+     */
+    static final class ByteWriter extends Writer {
+        private byte[] buffer;
+        private int size;
+
+        ByteWriter(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        @Override
+        public void write(int c) {
+            ensureCapacity(3);
+            encode((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            ensureCapacity(length * 3);
+            for (int i = offset; i < offset + length; i++) {
+                char c = chars[i];
+                if (Character.isHighSurrogate(c) && i + 1 < offset + length
+                        && Character.isLowSurrogate(chars[i + 1])) {
+                    encodeCodePoint(Character.toCodePoint(c, chars[++i]));
+                } else {
+                    encode(c);
+                }
+            }
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            ensureCapacity(length * 3);
+            for (int i = offset; i < offset + length; i++) {
+                char c = value.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < offset + length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    encodeCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+                } else {
+                    encode(c);
+                }
+            }
+        }
+
+        private void encode(char c) {
+            if (c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate tanpa pasangan, sama seperti encoder standar
+                buffer[size++] = (byte) '?';
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        private void encodeCodePoint(int codePoint) {
+            buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        @Override
+        public void flush() {
+            // Tidak ada buffer perantara
+        }
+
+        @Override
+        public void close() {
+            // Buffer dipakai ulang, tidak ada yang perlu ditutup
+        }
+    }
+
+    /**
+     * Reader yang men-decode UTF-8 langsung dari byte array
+     */
+    static final class ByteReader extends Reader {
+        private final byte[] data;
+        private int position;
+        private char pendingLowSurrogate;
+
+        ByteReader(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = 0;
+            if (pendingLowSurrogate != 0) {
+                chars[offset + count++] = pendingLowSurrogate;
+                pendingLowSurrogate = 0;
+            }
+            while (count < length && position < data.length) {
+                int b = data[position];
+                if (b >= 0) {
+                    chars[offset + count++] = (char) b;
+                    position++;
+                } else if ((b & 0xE0) == 0xC0 && position + 1 < data.length) {
+                    chars[offset + count++] = (char) (((b & 0x1F) << 6) | (data[position + 1] & 0x3F));
+                    position += 2;
+                } else if ((b & 0xF0) == 0xE0 && position + 2 < data.length) {
+                    chars[offset + count++] = (char) (((b & 0x0F) << 12)
+                            | ((data[position + 1] & 0x3F) << 6) | (data[position + 2] & 0x3F));
+                    position += 3;
+                } else if ((b & 0xF8) == 0xF0 && position + 3 < data.length) {
+                    int codePoint = ((b & 0x07) << 18) | ((data[position + 1] & 0x3F) << 12)
+                            | ((data[position + 2] & 0x3F) << 6) | (data[position + 3] & 0x3F);
+                    position += 4;
+                    chars[offset + count++] = Character.highSurrogate(codePoint);
+                    if (count < length) {
+                        chars[offset + count++] = Character.lowSurrogate(codePoint);
+                    } else {
+                        pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                    }
+                } else {
+                    // Byte tidak valid atau terpotong
+                    chars[offset + count++] = '�';
+                    position++;
+                }
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() {
+            // Tidak ada resource yang perlu ditutup
+        }
+    }
+}
@@ -2,15 +2,17 @@ package com.kafkaapp.common.utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kafkaapp.common.jfr.DeserializeEvent;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.serialization.TaskEventJsonCodec;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -25,7 +27,12 @@ public class JsonUtils {
         GsonBuilder gsonBuilder = new GsonBuilder();
         
         // Register adapter untuk LocalDateTime
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe());
+        
+        // Adapter streaming untuk model yang dikirim lewat Kafka, tanpa refleksi
+        gsonBuilder.registerTypeAdapter(TaskSnapshot.class, TaskEventJsonCodec.taskAdapter());
+        gsonBuilder.registerTypeAdapter(Task.class, TaskEventJsonCodec.taskAdapter().forMutableTask());
+        gsonBuilder.registerTypeAdapter(TaskEvent.class, TaskEventJsonCodec.eventAdapter());
         
         gson = gsonBuilder.setPrettyPrinting().create();
     }
@@ -49,24 +56,36 @@ public class JsonUtils {
      * @return Objek hasil deserialisasi
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
-        return gson.fromJson(json, clazz);
+        DeserializeEvent event = new DeserializeEvent();
+        event.begin();
+        T result = gson.fromJson(json, clazz);
+        event.end();
+        if (event.shouldCommit()) {
+            event.targetType = clazz.getSimpleName();
+            event.size = json != null ? json.length() : 0;
+            event.commit();
+        }
+        return result;
     }
     
     /**
-     * Adapter untuk serialisasi dan deserialisasi LocalDateTime
+     * Adapter streaming untuk serialisasi dan deserialisasi LocalDateTime
      */
-    static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+    static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
         
         @Override
-        public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-            return new JsonPrimitive(formatter.format(src));
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(formatter.format(value));
         }
         
         @Override
-        public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-                throws JsonParseException {
-            return LocalDateTime.parse(json.getAsString(), formatter);
+        public LocalDateTime read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return LocalDateTime.parse(in.nextString(), formatter);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.kafkaapp.common.utils;
+
+import com.kafkaapp.common.config.AppConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampler untuk log per event di hot path: hanya 1 dari setiap N pemanggilan yang dicatat.
+ * Error tidak perlu melewati sampler dan sebaiknya selalu dicatat.
+ */
+public class LogSampler {
+    private final int rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * @param rate Catat 1 dari setiap rate pemanggilan; 1 atau kurang berarti semua dicatat
+     */
+    public LogSampler(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    /**
+     * Membuat sampler dengan rate dari konfigurasi
+     *
+     * @param key Key di application.properties
+     * @param defaultRate Rate jika key tidak ada
+     * @return Sampler
+     */
+    public static LogSampler fromConfig(String key, int defaultRate) {
+        return new LogSampler(AppConfig.getInt(key, defaultRate));
+    }
+
+    /**
+     * @return true jika pemanggilan ini termasuk sampel yang perlu dicatat
+     */
+    public boolean sample() {
+        return rate == 1 || counter.getAndIncrement() % rate == 0;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+}
@@ -1,11 +1,14 @@
 package com.kafkaapp.consumer;
 
 import com.kafkaapp.common.config.DatabaseConfig;
-import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.config.KafkaConfig;
+import com.kafkaapp.common.config.LoggingConfig;
 import com.kafkaapp.common.model.TaskEvent;
 import com.kafkaapp.common.repository.MySqlTaskRepository;
 import com.kafkaapp.common.repository.TaskRepository;
 import com.kafkaapp.consumer.service.KafkaConsumerService;
+import com.kafkaapp.consumer.service.PipelineLatency;
+import com.kafkaapp.consumer.service.TaskEventProcessor;
 import com.kafkaapp.consumer.view.ConsumerView;
 
 import javafx.application.Application;
@@ -26,6 +29,7 @@ public class ConsumerApp extends Application {
     private TaskRepository taskRepository;
     
     public static void main(String[] args) {
+        LoggingConfig.install();
         launch(args);
     }
     
@@ -47,12 +51,26 @@ public class ConsumerApp extends Application {
             consumerView.show();
             
             // Inisialisasi Kafka Consumer Service dengan handler untuk task events
-            kafkaConsumerService = new KafkaConsumerService(
-                    "task-consumer-group",
-                    this::handleTaskEvent);
+            TaskEventProcessor processor = new TaskEventProcessor(taskRepository, new TaskEventProcessor.Listener() {
+                @Override
+                public void onInfo(String message) {
+                    consumerView.addInfoMessage(message);
+                }
+                
+                @Override
+                public void onError(String message) {
+                    consumerView.addErrorMessage(message);
+                }
+                
+                @Override
+                public void onEventApplied(TaskEvent event) {
+                    consumerView.addTaskEvent(event);
+                }
+            });
+            kafkaConsumerService = new KafkaConsumerService(KafkaConfig.getConsumerGroupId(), processor);
             
             // Tambahkan pesan info ke log
-            consumerView.addInfoMessage("Aplikasi Consumer dimulai, berlangganan ke topik task-events...");
+            consumerView.addInfoMessage("Aplikasi Consumer dimulai, berlangganan ke topik " + KafkaConfig.getTaskTopic() + "...");
             consumerView.addInfoMessage("Consumer akan menyimpan semua event ke database");
             
             // Mulai consumer
@@ -65,65 +83,6 @@ public class ConsumerApp extends Application {
         }
     }
     
-    /**
-     * Menangani event task yang diterima dari Kafka dan menyimpannya ke database
-     */
-    private void handleTaskEvent(TaskEvent event) {
-        logger.info("Received task event: {}", event);
-        
-        try {
-            Task task = event.getTask();
-            
-            switch (event.getEventType()) {
-                case CREATE:
-                    try {
-                        taskRepository.save(task);
-                        logger.info("Task created in database: {}", task.getId());
-                        consumerView.addInfoMessage(String.format("Database: Berhasil membuat task dengan ID %s", task.getId()));
-                    } catch (Exception e) {
-                        logger.error("Gagal membuat task di database", e);
-                        consumerView.addErrorMessage(String.format("Gagal membuat task: %s - %s", task.getId(), e.getMessage()));
-                        throw e;
-                    }
-                    break;
-                case UPDATE:
-                    try {
-                        taskRepository.save(task);
-                        logger.info("Task updated in database: {}", task.getId());
-                        consumerView.addInfoMessage(String.format("Database: Berhasil memperbarui task dengan ID %s", task.getId()));
-                    } catch (Exception e) {
-                        logger.error("Gagal memperbarui task di database", e);
-                        consumerView.addErrorMessage(String.format("Gagal memperbarui task: %s - %s", task.getId(), e.getMessage()));
-                        throw e;
-                    }
-                    break;
-                case DELETE:
-                    try {
-                        boolean deleted = taskRepository.deleteById(task.getId());
-                        if (deleted) {
-                            logger.info("Task deleted from database: {}", task.getId());
-                            consumerView.addInfoMessage(String.format("Database: Berhasil menghapus task dengan ID %s", task.getId()));
-                        } else {
-                            logger.warn("Task tidak ditemukan untuk dihapus: {}", task.getId());
-                            consumerView.addErrorMessage(String.format("Task dengan ID %s tidak ditemukan untuk dihapus", task.getId()));
-                        }
-                    } catch (Exception e) {
-                        logger.error("Gagal menghapus task dari database", e);
-                        consumerView.addErrorMessage(String.format("Gagal menghapus task: %s - %s", task.getId(), e.getMessage()));
-                        throw e;
-                    }
-                    break;
-            }
-            
-            // Tambahkan event ke view
-            consumerView.addTaskEvent(event);
-            
-        } catch (Exception e) {
-            logger.error("Error processing task event", e);
-            consumerView.addErrorMessage("Error processing task event: " + e.getMessage());
-        }
-    }
-    
     @Override
     public void stop() {
         try {
@@ -131,6 +90,8 @@ public class ConsumerApp extends Application {
                 kafkaConsumerService.stop();
             }
             
+            logger.info("Pipeline latency: {}", PipelineLatency.getInstance().summary());
+            
             // Tutup koneksi database
             DatabaseConfig.closeDataSource();
             
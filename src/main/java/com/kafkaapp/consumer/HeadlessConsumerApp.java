@@ -0,0 +1,59 @@
+package com.kafkaapp.consumer;
+
+import com.kafkaapp.common.config.DatabaseConfig;
+import com.kafkaapp.common.config.KafkaConfig;
+import com.kafkaapp.common.config.LoggingConfig;
+import com.kafkaapp.common.repository.MySqlTaskRepository;
+import com.kafkaapp.consumer.service.KafkaConsumerService;
+import com.kafkaapp.consumer.service.PipelineLatency;
+import com.kafkaapp.consumer.service.TaskEventProcessor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer tanpa JavaFX untuk deployment server.
+ * <p>
+ * Menerapkan event dari Kafka ke MySQL seperti {@link ConsumerApp}, tetapi hanya menulis log.
+ * Berhenti dengan rapi saat menerima SIGTERM/SIGINT: loop consumer dihentikan, offset terakhir
+ * di-commit, lalu koneksi database ditutup.
+ */
+public class HeadlessConsumerApp {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessConsumerApp.class);
+    
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    
+    public static void main(String[] args) throws InterruptedException {
+        LoggingConfig.install();
+        logger.info("Starting headless Consumer");
+        
+        KafkaConsumerService kafkaConsumerService = new KafkaConsumerService(
+                KafkaConfig.getConsumerGroupId(), new TaskEventProcessor(MySqlTaskRepository.getInstance()));
+        
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logger.info("Shutting down headless Consumer");
+            try {
+                kafkaConsumerService.stop();
+                if (!kafkaConsumerService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn("Kafka Consumer tidak berhenti dalam {} detik", SHUTDOWN_TIMEOUT_SECONDS);
+                }
+                logger.info("Pipeline latency: {}", PipelineLatency.getInstance().summary());
+                DatabaseConfig.closeDataSource();
+                logger.info("Headless Consumer stopped");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stopped.countDown();
+            }
+        }, "consumer-shutdown"));
+        
+        kafkaConsumerService.start();
+        logger.info("Headless Consumer started");
+        
+        stopped.await();
+    }
+}
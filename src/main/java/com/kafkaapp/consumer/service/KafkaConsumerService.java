@@ -1,45 +1,112 @@
 package com.kafkaapp.consumer.service;
 
+import com.kafkaapp.common.config.AppConfig;
+import com.kafkaapp.common.config.KafkaConfig;
+import com.kafkaapp.common.jfr.ConsumerBatchEvent;
+import com.kafkaapp.common.jfr.ConsumerPollEvent;
+import com.kafkaapp.common.jfr.DeserializeEvent;
+import com.kafkaapp.common.metrics.Counter;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+import com.kafkaapp.common.metrics.SendTimestamp;
+import com.kafkaapp.common.metrics.Timer;
 import com.kafkaapp.common.model.TaskEvent;
-import com.kafkaapp.common.utils.JsonUtils;
+import com.kafkaapp.common.serialization.TaskEventDeserializer;
+import com.kafkaapp.common.utils.LogSampler;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
- * Service untuk menerima event task dari Kafka
+ * Service untuk menerima event task dari Kafka.
+ * <p>
+ * Metrik JMX di grup {@code consumer}: {@code polls}, {@code records.polled},
+ * {@code poll.size} (jumlah record poll terakhir), {@code records.failed} (gagal deserialisasi),
+ * {@code records.skipped} (dilewati setelah batas retry),
+ * {@code batch.processing} (durasi handler batch), {@code rebalances}, serta {@code lag.total}
+ * dan {@code lag.<topic>-<partition>} untuk setiap partition yang sedang di-assign.
  */
 public class KafkaConsumerService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
-    private static final String TOPIC = "task-events";
+    /** Logger terpisah untuk log per record agar levelnya bisa diatur sendiri di logback.xml */
+    private static final Logger recordLogger = LoggerFactory.getLogger("com.kafkaapp.consumer.records");
     
-    private final KafkaConsumer<String, String> consumer;
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final String topic = KafkaConfig.getTaskTopic();
     private final ExecutorService executorService;
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private final Consumer<TaskEvent> eventHandler;
+    private final TaskEventBatchHandler batchHandler;
+    private final TaskEventDeserializer eventDeserializer = new TaskEventDeserializer();
+    private final PipelineLatency latency = PipelineLatency.getInstance();
+    private final LogSampler recordSampler = LogSampler.fromConfig("log.sample.records", 100);
+    
+    // Metrik JMX; lag diperbarui di thread poll karena KafkaConsumer tidak thread-safe
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Counter polls = metrics.counter("consumer", "polls");
+    private final Counter polledRecords = metrics.counter("consumer", "records.polled");
+    private final Counter failedRecords = metrics.counter("consumer", "records.failed");
+    private final Counter skippedRecords = metrics.counter("consumer", "records.skipped");
+    private final Counter rebalances = metrics.counter("consumer", "rebalances");
+    private final Timer batchProcessing = metrics.timer("consumer", "batch.processing");
+    private final AtomicInteger lastPollSize = new AtomicInteger();
+    private final Map<TopicPartition, Long> partitionLags = new ConcurrentHashMap<>();
+    
+    // Mode paralel: satu executor single-thread per lane, record dibagi berdasarkan key
+    private final ExecutorService[] lanes;
+    private final int maxPendingRecords;
+    /** Fetch sedang dihentikan karena backpressure; hanya diakses thread poll */
+    private boolean fetchPaused;
+    private final Map<TopicPartition, PartitionOffsetTracker> offsetTrackers = new ConcurrentHashMap<>();
+    /** Partition dengan record yang gagal diproses di lane, di-seek ulang oleh thread poll */
+    private final Set<TopicPartition> failedPartitions = ConcurrentHashMap.newKeySet();
+    /** Jeda sebelum record yang gagal diproses dikirim ulang */
+    private final long retryBackoffMs;
+    /** Jumlah pengulangan sebelum record yang tetap gagal dilewati, negatif untuk tanpa batas */
+    private final int retryMax;
+    /** Jumlah kegagalan per offset awal batch yang gagal di setiap partition */
+    private final Map<TopicPartition, ConcurrentNavigableMap<Long, Integer>> failedAttempts = new ConcurrentHashMap<>();
+    
+    // Mode commit manual: offset hanya di-commit setelah batch selesai ditulis ke database
+    private final boolean manualCommit;
+    private final Map<TopicPartition, OffsetAndMetadata> processedOffsets = new HashMap<>();
     
     /**
-     * Constructor dengan konfigurasi default
+     * Constructor dengan bootstrap server dari {@code kafka.bootstrap.servers}
      *
      * @param groupId Group ID untuk Kafka Consumer
      * @param eventHandler Handler untuk memproses TaskEvent yang diterima
      */
     public KafkaConsumerService(String groupId, Consumer<TaskEvent> eventHandler) {
-        this("localhost:9092", groupId, eventHandler);
+        this(KafkaConfig.getBootstrapServers(), groupId, eventHandler);
     }
     
     /**
@@ -50,19 +117,101 @@ public class KafkaConsumerService {
      * @param eventHandler Handler untuk memproses TaskEvent yang diterima
      */
     public KafkaConsumerService(String bootstrapServers, String groupId, Consumer<TaskEvent> eventHandler) {
-        Properties props = new Properties();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        this(bootstrapServers, groupId, (TaskEventBatchHandler) events -> events.forEach(eventHandler));
+    }
+    
+    /**
+     * Constructor dengan handler batch
+     *
+     * @param groupId Group ID untuk Kafka Consumer
+     * @param batchHandler Handler untuk memproses semua TaskEvent dari satu kali poll
+     */
+    public KafkaConsumerService(String groupId, TaskEventBatchHandler batchHandler) {
+        this(KafkaConfig.getBootstrapServers(), groupId, batchHandler);
+    }
+    
+    /**
+     * Constructor dengan bootstrap server kustom dan handler batch
+     *
+     * @param bootstrapServers URL Kafka bootstrap servers
+     * @param groupId Group ID untuk Kafka Consumer
+     * @param batchHandler Handler untuk memproses semua TaskEvent dari satu kali poll
+     */
+    public KafkaConsumerService(String bootstrapServers, String groupId, TaskEventBatchHandler batchHandler) {
+        this(bootstrapServers, groupId, batchHandler, AppConfig.getInt("kafka.consumer.processing.lanes", 1));
+    }
+    
+    /**
+     * Constructor dengan jumlah lane pemrosesan kustom.
+     * <p>
+     * Dengan lebih dari satu lane, record dibagi ke lane berdasarkan hash key (task ID) sehingga
+     * urutan per task tetap terjaga sementara task yang berbeda diproses paralel. Handler batch
+     * dapat dipanggil bersamaan dari beberapa lane, dan offset di-commit manual hanya sampai
+     * offset terendah yang belum selesai diproses di setiap partition.
+     * <p>
+     * Pada mode berurutan, {@code kafka.consumer.commit.mode=manual} mematikan auto-commit dan
+     * meng-commit offset secara asinkron setelah setiap batch selesai diproses handler.
+     *
+     * @param bootstrapServers URL Kafka bootstrap servers
+     * @param groupId Group ID untuk Kafka Consumer
+     * @param batchHandler Handler untuk memproses TaskEvent, dipanggil per lane pada mode paralel
+     * @param processingLanes Jumlah lane pemrosesan, 1 untuk pemrosesan berurutan di thread poll
+     */
+    public KafkaConsumerService(String bootstrapServers, String groupId, TaskEventBatchHandler batchHandler,
+            int processingLanes) {
+        if (processingLanes <= 0) {
+            throw new IllegalArgumentException("processingLanes harus lebih besar dari 0");
+        }
+        
+        // Tuning dari profil kafka.profile dan override kafka.consumer.*
+        Properties props = KafkaConfig.consumerProperties(bootstrapServers, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Payload dibaca sebagai byte agar kegagalan deserialisasi bisa ditangani per record
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // Lewati record dari transaksi producer yang di-abort atau belum di-commit
+        props.putIfAbsent(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        // Mode paralel selalu commit manual, auto-commit bisa melewati record yang masih diproses di lane lain
+        this.manualCommit = processingLanes > 1
+                || "manual".equalsIgnoreCase(AppConfig.getProperty("kafka.consumer.commit.mode", "auto"));
+        if (manualCommit) {
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
         
         this.consumer = new KafkaConsumer<>(props);
         this.executorService = Executors.newSingleThreadExecutor();
-        this.eventHandler = eventHandler;
+        this.batchHandler = batchHandler;
+        
+        if (processingLanes > 1) {
+            this.lanes = new ExecutorService[processingLanes];
+            for (int i = 0; i < processingLanes; i++) {
+                final int laneIndex = i;
+                this.lanes[i] = Executors.newSingleThreadExecutor(
+                        runnable -> new Thread(runnable, "task-consumer-lane-" + laneIndex));
+            }
+        } else {
+            this.lanes = null;
+        }
+        this.maxPendingRecords = AppConfig.getInt("kafka.consumer.processing.max.pending", 10000);
+        this.retryBackoffMs = AppConfig.getInt("kafka.consumer.processing.retry.backoff.ms", 1000);
+        this.retryMax = AppConfig.getInt("kafka.consumer.processing.retry.max", 10);
+        
+        metrics.gauge("consumer", "poll.size", lastPollSize::get);
+        metrics.gauge("consumer", "lag.total", () -> {
+            long total = 0;
+            for (long lag : partitionLags.values()) {
+                total += lag;
+            }
+            return total;
+        });
         
-        logger.info("Kafka Consumer initialized with bootstrap servers: {}, group ID: {}", 
-                bootstrapServers, groupId);
+        logger.info("Kafka Consumer initialized with bootstrap servers: {}, group ID: {}, processing lanes: {}, "
+                + "commit mode: {}, profile: {}, fetch.min.bytes: {}, fetch.max.wait.ms: {}, max.poll.records: {}, "
+                + "max.partition.fetch.bytes: {}", bootstrapServers, groupId, processingLanes,
+                manualCommit ? "manual" : "auto", KafkaConfig.getProfile(),
+                props.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG), props.get(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG),
+                props.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG),
+                props.get(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG));
     }
     
     /**
@@ -80,23 +229,38 @@ public class KafkaConsumerService {
      */
     private void consumeMessages() {
         try {
-            consumer.subscribe(Collections.singletonList(TOPIC));
-            logger.info("Subscribed to topic: {}", TOPIC);
+            consumer.subscribe(Collections.singletonList(topic), new RebalanceListener());
+            logger.info("Subscribed to topic: {}", topic);
             
             while (running.get()) {
-                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(100));
+                ConsumerPollEvent pollEvent = new ConsumerPollEvent();
+                pollEvent.begin();
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
+                recordProduceToPoll(records);
+                recordPollMetrics(records);
                 
-                for (ConsumerRecord<String, String> record : records) {
-                    logger.info("Received message: topic = {}, partition = {}, offset = {}, key = {}, value = {}",
-                            record.topic(), record.partition(), record.offset(), record.key(), record.value());
-                    
-                    try {
-                        TaskEvent taskEvent = JsonUtils.fromJson(record.value(), TaskEvent.class);
-                        eventHandler.accept(taskEvent);
-                    } catch (Exception e) {
-                        logger.error("Error processing Kafka message", e);
+                if (lanes != null) {
+                    dispatchToLanes(records);
+                    rewindFailedPartitions();
+                    commitCompletedOffsets();
+                    applyBackpressure();
+                } else if (!records.isEmpty()) {
+                    if (processOrSkip(records, records.count())) {
+                        if (manualCommit) {
+                            commitProcessedBatch(records);
+                        }
+                    } else {
+                        rewind(records);
                     }
                 }
+                
+                // Poll kosong selalu menunggu timeout poll, tidak perlu dicatat
+                pollEvent.end();
+                if (!records.isEmpty() && pollEvent.shouldCommit()) {
+                    pollEvent.recordCount = records.count();
+                    pollEvent.partitions = describePartitions(records);
+                    pollEvent.commit();
+                }
             }
         } catch (WakeupException e) {
             // Ignore, this is expected when closing the consumer
@@ -106,12 +270,544 @@ public class KafkaConsumerService {
         } catch (Exception e) {
             logger.error("Error in Kafka consumer loop", e);
         } finally {
+            if (lanes != null) {
+                drainLanes();
+            } else if (manualCommit) {
+                commitProcessedSync(processedOffsets.keySet());
+            }
             consumer.close();
             logger.info("Kafka Consumer closed");
             running.set(false);
         }
     }
     
+    /**
+     * Daftar partition record untuk event JFR, misalnya "task-events-0,task-events-2"
+     */
+    private static String describePartitions(Iterable<ConsumerRecord<String, byte[]>> records) {
+        TreeSet<String> partitions = new TreeSet<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            partitions.add(record.topic() + "-" + record.partition());
+        }
+        return String.join(",", partitions);
+    }
+    
+    /**
+     * Perbarui metrik ukuran poll dan lag per partition dari posisi fetch terakhir
+     */
+    private void recordPollMetrics(ConsumerRecords<String, byte[]> records) {
+        polls.increment();
+        polledRecords.add(records.count());
+        lastPollSize.set(records.count());
+        for (TopicPartition partition : partitionLags.keySet()) {
+            consumer.currentLag(partition).ifPresent(lag -> partitionLags.put(partition, lag));
+        }
+    }
+    
+    /**
+     * Rekam latensi dari waktu kirim producer sampai record diterima poll
+     */
+    private void recordProduceToPoll(ConsumerRecords<String, byte[]> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        long nowMicros = SendTimestamp.nowMicros();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            long sentAt = SendTimestamp.read(record.headers());
+            if (sentAt != SendTimestamp.MISSING) {
+                latency.getProduceToPoll().recordNanos(SendTimestamp.elapsedNanos(sentAt, nowMicros));
+            }
+        }
+    }
+    
+    /**
+     * Deserialisasi record lalu serahkan ke handler batch.
+     * Latensi deserialisasi dan end-to-end direkam ke {@link PipelineLatency}.
+     * <p>
+     * Log per record hanya ditulis untuk 1 dari setiap {@code log.sample.records} record (semua
+     * record jika logger {@code com.kafkaapp.consumer.records} di level DEBUG); error selalu dicatat.
+     * Setiap batch menghasilkan satu baris ringkasan.
+     * <p>
+     * Record yang gagal dideserialisasi dilewati karena tidak akan berhasil jika dikirim ulang.
+     *
+     * @return false jika handler batch gagal, sehingga record tidak boleh di-commit
+     */
+    private boolean processRecords(Iterable<ConsumerRecord<String, byte[]>> records, int count) {
+        long batchStart = System.nanoTime();
+        List<TaskEvent> events = new ArrayList<>(count);
+        long[] sentAtMicros = new long[count];
+        int failed = 0;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            logRecord(record);
+            
+            DeserializeEvent deserializeEvent = new DeserializeEvent();
+            deserializeEvent.begin();
+            try {
+                long start = System.nanoTime();
+                TaskEvent event = eventDeserializer.deserialize(record.topic(), record.headers(), record.value());
+                latency.getDeserialize().recordSince(start);
+                deserializeEvent.end();
+                if (deserializeEvent.shouldCommit()) {
+                    deserializeEvent.targetType = "TaskEvent";
+                    deserializeEvent.size = record.value() != null ? record.value().length : 0;
+                    deserializeEvent.partition = record.partition();
+                    deserializeEvent.offset = record.offset();
+                    deserializeEvent.taskId = event.getTask().getId();
+                    deserializeEvent.eventType = event.getEventType().name();
+                    deserializeEvent.commit();
+                }
+                sentAtMicros[events.size()] = SendTimestamp.read(record.headers());
+                events.add(event);
+            } catch (Exception e) {
+                failed++;
+                failedRecords.increment();
+                logger.error("Error deserializing Kafka message at partition {} offset {}",
+                        record.partition(), record.offset(), e);
+            }
+        }
+        
+        if (!events.isEmpty()) {
+            long start = System.nanoTime();
+            ConsumerBatchEvent batchEvent = new ConsumerBatchEvent();
+            batchEvent.begin();
+            try {
+                batchHandler.handleBatch(events);
+            } catch (Exception e) {
+                logger.error("Error processing batch of {} Kafka messages", events.size(), e);
+                return false;
+            } finally {
+                batchProcessing.recordSince(start);
+                batchEvent.end();
+                if (batchEvent.shouldCommit()) {
+                    batchEvent.eventCount = events.size();
+                    batchEvent.partitions = describePartitions(records);
+                    batchEvent.commit();
+                }
+            }
+            long nowMicros = SendTimestamp.nowMicros();
+            for (int i = 0; i < events.size(); i++) {
+                if (sentAtMicros[i] != SendTimestamp.MISSING) {
+                    latency.getEndToEnd().recordNanos(SendTimestamp.elapsedNanos(sentAtMicros[i], nowMicros));
+                }
+            }
+        }
+        logger.info("Processed batch: {} records, {} events, {} failed, {} ms",
+                count, events.size(), failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart));
+        return true;
+    }
+    
+    /**
+     * Proses record, dengan batas pengulangan untuk record yang selalu gagal.
+     * <p>
+     * Kegagalan dihitung per partition berdasarkan offset pertama record yang gagal. Setelah
+     * offset yang sama gagal lebih dari {@code kafka.consumer.processing.retry.max} kali, record
+     * diproses satu per satu dan record yang tetap gagal dicatat lalu dilewati, sehingga
+     * partition tidak macet di belakangnya.
+     *
+     * @return true jika record boleh di-commit (berhasil, atau dilewati setelah batas retry)
+     */
+    private boolean processOrSkip(Iterable<ConsumerRecord<String, byte[]>> records, int count) {
+        if (processRecords(records, count)) {
+            clearFailedAttempts(records);
+            return true;
+        }
+        if (!retriesExhausted(records)) {
+            return false;
+        }
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (!processRecords(Collections.singletonList(record), 1)) {
+                skippedRecords.increment();
+                logger.error("Record dilewati setelah {} kali gagal diproses: partition {} offset {} key {} size {} bytes",
+                        retryMax + 1, record.partition(), record.offset(), record.key(),
+                        record.value() != null ? record.value().length : 0);
+            }
+        }
+        clearFailedAttempts(records);
+        return true;
+    }
+    
+    /**
+     * Catat satu kegagalan untuk offset pertama setiap partition
+     *
+     * @return true jika ada partition yang sudah melewati batas retry
+     */
+    private boolean retriesExhausted(Iterable<ConsumerRecord<String, byte[]>> records) {
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            firstOffsets.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::min);
+        }
+        boolean exhausted = false;
+        for (Map.Entry<TopicPartition, Long> entry : firstOffsets.entrySet()) {
+            int attempts = failedAttempts.computeIfAbsent(entry.getKey(), tp -> new ConcurrentSkipListMap<>())
+                    .merge(entry.getValue(), 1, Integer::sum);
+            if (retryMax >= 0 && attempts > retryMax) {
+                exhausted = true;
+            }
+        }
+        return exhausted;
+    }
+    
+    /**
+     * Hapus hitungan kegagalan sampai offset terakhir yang sudah selesai di setiap partition
+     */
+    private void clearFailedAttempts(Iterable<ConsumerRecord<String, byte[]>> records) {
+        if (failedAttempts.isEmpty()) {
+            return;
+        }
+        for (ConsumerRecord<String, byte[]> record : records) {
+            ConcurrentNavigableMap<Long, Integer> attempts =
+                    failedAttempts.get(new TopicPartition(record.topic(), record.partition()));
+            if (attempts != null) {
+                attempts.headMap(record.offset(), true).clear();
+            }
+        }
+    }
+    
+    /**
+     * Kembalikan posisi fetch ke record pertama hasil poll untuk setiap partition, sehingga batch
+     * yang gagal dikirim ulang pada poll berikutnya setelah jeda retry
+     */
+    private void rewind(ConsumerRecords<String, byte[]> records) {
+        for (TopicPartition partition : records.partitions()) {
+            long offset = records.records(partition).get(0).offset();
+            consumer.seek(partition, offset);
+            logger.warn("Batch gagal diproses, mengulang {} dari offset {}", partition, offset);
+        }
+        backoff();
+    }
+    
+    /**
+     * Jeda sebelum record yang gagal dikirim ulang, agar database yang bermasalah tidak dibanjiri
+     */
+    private void backoff() {
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Log satu record yang diterima jika termasuk sampel atau level DEBUG aktif
+     */
+    private void logRecord(ConsumerRecord<String, byte[]> record) {
+        if (recordLogger.isDebugEnabled()) {
+            recordLogger.debug("Received message: topic = {}, partition = {}, offset = {}, key = {}, size = {} bytes",
+                    record.topic(), record.partition(), record.offset(), record.key(),
+                    record.value() != null ? record.value().length : 0);
+        } else if (recordLogger.isInfoEnabled() && recordSampler.sample()) {
+            recordLogger.info("Received message (1/{} sampled): topic = {}, partition = {}, offset = {}, key = {}, size = {} bytes",
+                    recordSampler.getRate(), record.topic(), record.partition(), record.offset(), record.key(),
+                    record.value() != null ? record.value().length : 0);
+        }
+    }
+    
+    /**
+     * Commit secara asinkron posisi setelah record terakhir di batch yang sudah diproses
+     */
+    private void commitProcessedBatch(ConsumerRecords<String, byte[]> records) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<String, byte[]>> partitionRecords = records.records(partition);
+            long nextOffset = partitionRecords.get(partitionRecords.size() - 1).offset() + 1;
+            offsets.put(partition, new OffsetAndMetadata(nextOffset));
+        }
+        processedOffsets.putAll(offsets);
+        
+        consumer.commitAsync(offsets, (committed, exception) -> {
+            if (exception != null) {
+                // Commit berikutnya atau commit sinkron saat rebalance/shutdown akan menutupinya
+                logger.warn("Async offset commit failed for {}", committed, exception);
+            }
+        });
+    }
+    
+    /**
+     * Commit secara sinkron offset yang sudah diproses untuk partition tertentu
+     */
+    private void commitProcessedSync(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = processedOffsets.get(partition);
+            if (offset != null) {
+                offsets.put(partition, offset);
+            }
+        }
+        
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+                logger.info("Committed offsets synchronously: {}", offsets);
+            } catch (Exception e) {
+                logger.error("Failed to commit offsets synchronously", e);
+            }
+        }
+        processedOffsets.keySet().removeAll(new ArrayList<>(partitions));
+    }
+    
+    /**
+     * Bagi record hasil poll ke lane berdasarkan key dan jalankan di executor lane masing-masing
+     */
+    private void dispatchToLanes(ConsumerRecords<String, byte[]> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        
+        List<List<ConsumerRecord<String, byte[]>>> recordsPerLane = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            recordsPerLane.add(new ArrayList<>());
+        }
+        
+        // Tracker saat dispatch menjadi penanda kepemilikan: partition yang dicabut kehilangan tracker-nya
+        Map<TopicPartition, PartitionOffsetTracker> trackers = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            trackers.computeIfAbsent(partition,
+                    tp -> offsetTrackers.computeIfAbsent(tp, key -> new PartitionOffsetTracker()))
+                    .dispatched(record.offset());
+            recordsPerLane.get(laneFor(record)).add(record);
+        }
+        
+        for (int i = 0; i < lanes.length; i++) {
+            List<ConsumerRecord<String, byte[]>> laneRecords = recordsPerLane.get(i);
+            if (!laneRecords.isEmpty()) {
+                lanes[i].execute(() -> processLane(laneRecords, trackers));
+            }
+        }
+    }
+    
+    /**
+     * Proses record milik satu lane, lalu tandai offset-nya selesai. Jika handler gagal, offset
+     * tetap tertunda sehingga tidak ikut di-commit, dan partition-nya di-seek ulang oleh thread poll.
+     * Record dari partition yang sudah dicabut sejak dispatch dibuang tanpa diproses, karena
+     * partition itu sekarang diproses oleh pemilik baru.
+     */
+    private void processLane(List<ConsumerRecord<String, byte[]>> laneRecords,
+            Map<TopicPartition, PartitionOffsetTracker> trackers) {
+        List<ConsumerRecord<String, byte[]>> owned = new ArrayList<>(laneRecords.size());
+        for (ConsumerRecord<String, byte[]> record : laneRecords) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (offsetTrackers.get(partition) == trackers.get(partition)) {
+                owned.add(record);
+            }
+        }
+        if (owned.size() < laneRecords.size()) {
+            logger.info("Membuang {} record dari partition yang sudah dicabut", laneRecords.size() - owned.size());
+        }
+        if (owned.isEmpty()) {
+            return;
+        }
+        
+        boolean processed = false;
+        try {
+            processed = processOrSkip(owned, owned.size());
+        } finally {
+            for (ConsumerRecord<String, byte[]> record : owned) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                PartitionOffsetTracker tracker = trackers.get(partition);
+                if (offsetTrackers.get(partition) != tracker) {
+                    continue;
+                }
+                if (processed) {
+                    tracker.completed(record.offset());
+                } else {
+                    failedPartitions.add(partition);
+                }
+            }
+            if (!processed) {
+                backoff();
+            }
+        }
+    }
+    
+    /**
+     * Seek partition yang record-nya gagal di lane ke offset tertunda terendah. Semua record sejak
+     * offset itu dikirim ulang sesuai urutan, sehingga state akhir setiap task tetap event terakhirnya.
+     * Hanya dipanggil dari thread poll.
+     */
+    private void rewindFailedPartitions() {
+        if (failedPartitions.isEmpty()) {
+            return;
+        }
+        Set<TopicPartition> assigned = consumer.assignment();
+        for (TopicPartition partition : new ArrayList<>(failedPartitions)) {
+            failedPartitions.remove(partition);
+            PartitionOffsetTracker tracker = offsetTrackers.get(partition);
+            if (tracker == null || !assigned.contains(partition)) {
+                continue;
+            }
+            long offset = tracker.committableOffset();
+            if (offset >= 0) {
+                consumer.seek(partition, offset);
+                logger.warn("Record gagal diproses di lane, mengulang {} dari offset {}", partition, offset);
+            }
+        }
+    }
+    
+    /**
+     * Pilih lane untuk record. Record dengan key yang sama selalu masuk ke lane yang sama.
+     */
+    private int laneFor(ConsumerRecord<String, byte[]> record) {
+        int hash = record.key() != null ? record.key().hashCode() : record.partition();
+        return (hash & 0x7fffffff) % lanes.length;
+    }
+    
+    /**
+     * Commit secara asinkron offset yang semua record sebelumnya sudah selesai diproses
+     */
+    private void commitCompletedOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionOffsetTracker> entry : offsetTrackers.entrySet()) {
+            long offset = entry.getValue().advanceCommit();
+            if (offset >= 0) {
+                offsets.put(entry.getKey(), new OffsetAndMetadata(offset));
+            }
+        }
+        
+        if (!offsets.isEmpty()) {
+            consumer.commitAsync(offsets, (committed, exception) -> {
+                if (exception != null) {
+                    logger.warn("Async offset commit failed for {}", committed, exception);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Hentikan fetch sementara jika terlalu banyak record yang belum selesai diproses di lane.
+     * Selama berhenti, partition yang baru di-assign saat rebalance juga ikut di-pause.
+     */
+    private void applyBackpressure() {
+        int pending = 0;
+        for (PartitionOffsetTracker tracker : offsetTrackers.values()) {
+            pending += tracker.pendingCount();
+        }
+        
+        if (fetchPaused && pending < maxPendingRecords / 2) {
+            fetchPaused = false;
+            consumer.resume(consumer.paused());
+            logger.debug("Resumed fetching, {} records pending in lanes", pending);
+        } else if (fetchPaused || pending >= maxPendingRecords) {
+            if (!fetchPaused) {
+                logger.debug("Paused fetching, {} records pending in lanes", pending);
+            }
+            fetchPaused = true;
+            consumer.pause(consumer.assignment());
+        }
+    }
+    
+    /**
+     * Mencatat rebalance dan gauge lag per partition. Pada mode commit manual, saat partition
+     * dicabut offset yang sudah diproses di-commit secara sinkron agar pemilik baru tidak
+     * memproses ulang; pada mode paralel, tunggu dulu record partition tersebut selesai di lane.
+     * Record yang belum selesai setelah batas tunggu tidak lagi diterapkan oleh lane.
+     */
+    private class RebalanceListener implements ConsumerRebalanceListener {
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            rebalances.increment();
+            for (TopicPartition partition : partitions) {
+                partitionLags.remove(partition);
+                metrics.remove("consumer", "lag." + partition);
+                failedAttempts.remove(partition);
+            }
+            
+            if (!manualCommit) {
+                return;
+            }
+            if (lanes == null) {
+                // Mode berurutan: semua record hasil poll sudah selesai diproses sebelum poll berikutnya
+                commitProcessedSync(partitions);
+                return;
+            }
+            
+            long deadline = System.currentTimeMillis() + 10_000;
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                // Tracker tetap terdaftar selama menunggu agar lane masih bisa menandai record selesai
+                PartitionOffsetTracker tracker = offsetTrackers.get(partition);
+                if (tracker == null) {
+                    continue;
+                }
+                while (tracker.pendingCount() > 0 && !failedPartitions.contains(partition)
+                        && System.currentTimeMillis() < deadline) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                long offset = tracker.committableOffset();
+                if (offset >= 0) {
+                    offsets.put(partition, new OffsetAndMetadata(offset));
+                }
+            }
+            // Tanpa tracker, record partition ini yang masih antri di lane dibuang (lihat processLane)
+            for (TopicPartition partition : partitions) {
+                offsetTrackers.remove(partition);
+                failedPartitions.remove(partition);
+            }
+            
+            if (!offsets.isEmpty()) {
+                try {
+                    consumer.commitSync(offsets);
+                    logger.info("Committed offsets for revoked partitions: {}", offsets);
+                } catch (Exception e) {
+                    logger.error("Failed to commit offsets for revoked partitions", e);
+                }
+            }
+        }
+        
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.info("Partitions assigned: {}", partitions);
+            if (fetchPaused) {
+                // Dipanggil di dalam poll, sebelum fetch untuk partition baru dimulai
+                consumer.pause(partitions);
+            }
+            for (TopicPartition partition : partitions) {
+                partitionLags.put(partition, 0L);
+                metrics.gauge("consumer", "lag." + partition,
+                        () -> partitionLags.getOrDefault(partition, 0L));
+            }
+        }
+    }
+    
+    /**
+     * Tunggu semua lane selesai lalu commit offset terakhir secara sinkron
+     */
+    private void drainLanes() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Processing lane did not finish within timeout");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionOffsetTracker> entry : offsetTrackers.entrySet()) {
+            long offset = entry.getValue().committableOffset();
+            if (offset >= 0) {
+                offsets.put(entry.getKey(), new OffsetAndMetadata(offset));
+            }
+        }
+        try {
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+                logger.info("Committed final offsets: {}", offsets);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to commit final offsets", e);
+        }
+    }
+    
     /**
      * Stop consumer
      */
@@ -122,4 +818,17 @@ public class KafkaConsumerService {
             logger.info("Kafka Consumer stopping");
         }
     }
+    
+    /**
+     * Tunggu sampai loop consumer selesai menutup koneksi dan commit offset terakhir.
+     * Dipakai setelah {@link #stop()} pada shutdown yang terkendali.
+     * 
+     * @param timeout Batas waktu tunggu
+     * @param unit Satuan waktu
+     * @return true jika consumer sudah tertutup sebelum batas waktu
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executorService.awaitTermination(timeout, unit);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.kafkaapp.consumer.service;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Melacak offset yang sedang diproses untuk satu partition.
+ * <p>
+ * Offset didaftarkan oleh thread poll saat record dikirim ke lane, lalu dilepas oleh
+ * thread lane setelah selesai diproses. Offset yang aman untuk di-commit adalah offset
+ * terendah yang masih diproses, atau offset setelah record terakhir jika semuanya selesai.
+ */
+class PartitionOffsetTracker {
+    private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+    private volatile long nextOffset = -1;
+    private long lastCommitted = -1;
+
+    /**
+     * Daftarkan offset yang baru dikirim ke lane. Hanya dipanggil dari thread poll.
+     */
+    void dispatched(long offset) {
+        pending.add(offset);
+        nextOffset = offset + 1;
+    }
+
+    /**
+     * Tandai offset sudah selesai diproses. Dipanggil dari thread lane.
+     */
+    void completed(long offset) {
+        pending.remove(offset);
+    }
+
+    /**
+     * Offset yang aman untuk di-commit, atau -1 jika belum ada record yang dikirim
+     */
+    long committableOffset() {
+        Long lowestPending = pending.ceiling(Long.MIN_VALUE);
+        return lowestPending != null ? lowestPending : nextOffset;
+    }
+
+    /**
+     * Mengembalikan offset baru untuk di-commit jika sudah maju sejak commit terakhir,
+     * atau -1 jika tidak ada kemajuan. Hanya dipanggil dari thread poll.
+     */
+    long advanceCommit() {
+        long committable = committableOffset();
+        if (committable > lastCommitted) {
+            lastCommitted = committable;
+            return committable;
+        }
+        return -1;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+}
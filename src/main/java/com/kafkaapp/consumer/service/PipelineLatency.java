@@ -0,0 +1,71 @@
+package com.kafkaapp.consumer.service;
+
+import com.kafkaapp.common.metrics.LatencyHistogram;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+
+/**
+ * Histogram latensi untuk setiap tahap pipeline consumer, sejak aplikasi dimulai:
+ * <ul>
+ *   <li>produce-to-poll: waktu kirim producer sampai record diterima poll</li>
+ *   <li>deserialize: deserialisasi satu record</li>
+ *   <li>DB write: satu operasi tulis ke repository (batch atau per event)</li>
+ *   <li>end-to-end: waktu kirim producer sampai batch selesai ditulis ke database</li>
+ * </ul>
+ * Tahap yang memakai waktu kirim producer hanya direkam untuk record yang membawa header
+ * {@link com.kafkaapp.common.metrics.SendTimestamp#HEADER}. Setiap tahap juga tersedia sebagai
+ * timer JMX {@code consumer/latency.<tahap>}.
+ */
+public class PipelineLatency {
+    private static PipelineLatency instance;
+
+    private final LatencyHistogram produceToPoll;
+    private final LatencyHistogram deserialize;
+    private final LatencyHistogram dbWrite;
+    private final LatencyHistogram endToEnd;
+
+    private PipelineLatency() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.produceToPoll = metrics.timer("consumer", "latency.produceToPoll").getHistogram();
+        this.deserialize = metrics.timer("consumer", "latency.deserialize").getHistogram();
+        this.dbWrite = metrics.timer("consumer", "latency.dbWrite").getHistogram();
+        this.endToEnd = metrics.timer("consumer", "latency.endToEnd").getHistogram();
+    }
+
+    /**
+     * Mendapatkan instance PipelineLatency (singleton)
+     *
+     * @return Instance PipelineLatency
+     */
+    public static synchronized PipelineLatency getInstance() {
+        if (instance == null) {
+            instance = new PipelineLatency();
+        }
+        return instance;
+    }
+
+    public LatencyHistogram getProduceToPoll() {
+        return produceToPoll;
+    }
+
+    public LatencyHistogram getDeserialize() {
+        return deserialize;
+    }
+
+    public LatencyHistogram getDbWrite() {
+        return dbWrite;
+    }
+
+    public LatencyHistogram getEndToEnd() {
+        return endToEnd;
+    }
+
+    /**
+     * Ringkasan semua tahap untuk log
+     */
+    public String summary() {
+        return "produce-to-poll [" + produceToPoll.summary() + "]"
+                + ", deserialize [" + deserialize.summary() + "]"
+                + ", db-write [" + dbWrite.summary() + "]"
+                + ", end-to-end [" + endToEnd.summary() + "]";
+    }
+}
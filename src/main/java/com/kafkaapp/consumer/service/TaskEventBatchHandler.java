@@ -0,0 +1,21 @@
+package com.kafkaapp.consumer.service;
+
+import com.kafkaapp.common.model.TaskEvent;
+
+import java.util.List;
+
+/**
+ * Handler untuk memproses seluruh hasil satu kali poll Kafka sekaligus
+ */
+@FunctionalInterface
+public interface TaskEventBatchHandler {
+    
+    /**
+     * Memproses batch event sesuai urutan offset di dalam setiap partition
+     * 
+     * @param events TaskEvent hasil deserialisasi dari satu ConsumerRecords, tidak pernah kosong
+     * @throws RuntimeException jika batch gagal disimpan; offset tidak di-commit dan record
+     *         dikirim ulang mulai dari record pertama yang belum di-commit
+     */
+    void handleBatch(List<TaskEvent> events);
+}
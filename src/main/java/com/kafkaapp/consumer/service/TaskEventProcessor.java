@@ -0,0 +1,233 @@
+package com.kafkaapp.consumer.service;
+
+import com.kafkaapp.common.jfr.TaskApplyEvent;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.common.repository.TaskRepository;
+import com.kafkaapp.common.repository.UpsertResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Menerapkan batch TaskEvent dari Kafka ke repository.
+ * <p>
+ * Tidak bergantung pada JavaFX, sehingga dipakai oleh aplikasi desktop maupun mode headless.
+ * Hasil pemrosesan dilaporkan ke {@link Listener}, misalnya untuk ditampilkan di UI. Durasi setiap
+ * penulisan ke repository direkam di {@link PipelineLatency#getDbWrite()}.
+ */
+public class TaskEventProcessor implements TaskEventBatchHandler {
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventProcessor.class);
+    
+    private final TaskRepository taskRepository;
+    private final Listener listener;
+    private final PipelineLatency latency = PipelineLatency.getInstance();
+    
+    /**
+     * Penerima hasil pemrosesan. Dipanggil dari thread consumer.
+     */
+    public interface Listener {
+        default void onInfo(String message) {
+        }
+        
+        default void onError(String message) {
+        }
+        
+        default void onEventApplied(TaskEvent event) {
+        }
+    }
+    
+    /**
+     * Processor tanpa listener, hanya menulis log
+     */
+    public TaskEventProcessor(TaskRepository taskRepository) {
+        this(taskRepository, new Listener() { });
+    }
+    
+    public TaskEventProcessor(TaskRepository taskRepository, Listener listener) {
+        this.taskRepository = taskRepository;
+        this.listener = listener;
+    }
+    
+    /**
+     * Menangani satu batch event dari Kafka dan menyimpannya ke database dalam satu transaksi
+     * untuk upsert dan satu transaksi untuk delete.
+     * <p>
+     * Karena setiap event membawa state task secara lengkap, hanya event terakhir untuk setiap
+     * task ID yang perlu ditulis. Jika penulisan batch gagal, event diproses ulang satu per satu
+     * agar satu baris bermasalah tidak menggagalkan seluruh batch. Jika ada event yang tetap gagal,
+     * exception dilempar agar offset batch tidak di-commit dan batch dikirim ulang.
+     */
+    @Override
+    public void handleBatch(List<TaskEvent> events) {
+        logger.debug("Received batch of {} task events", events.size());
+        
+        Map<String, TaskEvent> latestById = new LinkedHashMap<>();
+        for (TaskEvent event : events) {
+            // remove + put agar urutan mengikuti event terakhir
+            latestById.remove(event.getTask().getId());
+            latestById.put(event.getTask().getId(), event);
+        }
+        
+        List<TaskSnapshot> tasksToSave = new ArrayList<>();
+        List<String> idsToDelete = new ArrayList<>();
+        for (TaskEvent event : latestById.values()) {
+            if (event.getEventType() == TaskEvent.EventType.DELETE) {
+                idsToDelete.add(event.getTask().getId());
+            } else {
+                tasksToSave.add(event.getTask());
+            }
+        }
+        
+        try {
+            if (!tasksToSave.isEmpty()) {
+                long start = System.nanoTime();
+                TaskApplyEvent applyEvent = new TaskApplyEvent();
+                applyEvent.begin();
+                List<UpsertResult> results = taskRepository.upsertAll(tasksToSave);
+                applyEvent.end();
+                latency.getDbWrite().recordSince(start);
+                commitApplyEvent(applyEvent, "BATCH_UPSERT", null, tasksToSave.size(), true);
+                listener.onInfo(describeUpserts(results));
+            }
+            if (!idsToDelete.isEmpty()) {
+                long start = System.nanoTime();
+                TaskApplyEvent applyEvent = new TaskApplyEvent();
+                applyEvent.begin();
+                int deleted = taskRepository.deleteAllById(idsToDelete);
+                applyEvent.end();
+                latency.getDbWrite().recordSince(start);
+                commitApplyEvent(applyEvent, "BATCH_DELETE", null, idsToDelete.size(), true);
+                listener.onInfo(String.format("Database: Berhasil menghapus %d dari %d task", 
+                        deleted, idsToDelete.size()));
+            }
+            logger.debug("Batch applied to database: {} events, {} upserts, {} deletes",
+                    events.size(), tasksToSave.size(), idsToDelete.size());
+        } catch (Exception e) {
+            logger.error("Gagal menyimpan batch ke database, memproses ulang per event", e);
+            listener.onError("Gagal menyimpan batch: " + e.getMessage() + ", memproses ulang per event");
+            events.forEach(this::handleTaskEvent);
+            return;
+        }
+        
+        for (TaskEvent event : events) {
+            listener.onEventApplied(event);
+        }
+    }
+    
+    /**
+     * Menangani event task yang diterima dari Kafka dan menyimpannya ke database.
+     * Exception dari repository dilempar ulang setelah dilaporkan ke listener.
+     */
+    private void handleTaskEvent(TaskEvent event) {
+        logger.debug("Received task event: {}", event);
+        
+        TaskApplyEvent applyEvent = new TaskApplyEvent();
+        applyEvent.begin();
+        boolean applied = false;
+        try {
+            TaskSnapshot task = event.getTask();
+            
+            switch (event.getEventType()) {
+                case CREATE:
+                    try {
+                        long start = System.nanoTime();
+                        UpsertResult result = taskRepository.upsert(task);
+                        latency.getDbWrite().recordSince(start);
+                        logger.debug("Task created in database: {} ({})", task.getId(), result);
+                        listener.onInfo(String.format("Database: Berhasil membuat task dengan ID %s", task.getId()));
+                    } catch (Exception e) {
+                        logger.error("Gagal membuat task di database", e);
+                        listener.onError(String.format("Gagal membuat task: %s - %s", task.getId(), e.getMessage()));
+                        throw e;
+                    }
+                    break;
+                case UPDATE:
+                    try {
+                        long start = System.nanoTime();
+                        UpsertResult result = taskRepository.upsert(task);
+                        latency.getDbWrite().recordSince(start);
+                        logger.debug("Task updated in database: {} ({})", task.getId(), result);
+                        listener.onInfo(String.format("Database: Berhasil memperbarui task dengan ID %s", task.getId()));
+                    } catch (Exception e) {
+                        logger.error("Gagal memperbarui task di database", e);
+                        listener.onError(String.format("Gagal memperbarui task: %s - %s", task.getId(), e.getMessage()));
+                        throw e;
+                    }
+                    break;
+                case DELETE:
+                    try {
+                        long start = System.nanoTime();
+                        boolean deleted = taskRepository.deleteById(task.getId());
+                        latency.getDbWrite().recordSince(start);
+                        if (deleted) {
+                            logger.debug("Task deleted from database: {}", task.getId());
+                            listener.onInfo(String.format("Database: Berhasil menghapus task dengan ID %s", task.getId()));
+                        } else {
+                            logger.warn("Task tidak ditemukan untuk dihapus: {}", task.getId());
+                            listener.onError(String.format("Task dengan ID %s tidak ditemukan untuk dihapus", task.getId()));
+                        }
+                    } catch (Exception e) {
+                        logger.error("Gagal menghapus task dari database", e);
+                        listener.onError(String.format("Gagal menghapus task: %s - %s", task.getId(), e.getMessage()));
+                        throw e;
+                    }
+                    break;
+            }
+            
+            applyEvent.end();
+            applied = true;
+            
+            // Laporkan event yang sudah diterapkan
+            listener.onEventApplied(event);
+            
+        } catch (Exception e) {
+            applyEvent.end();
+            logger.error("Error processing task event", e);
+            listener.onError("Error processing task event: " + e.getMessage());
+            throw e;
+        } finally {
+            commitApplyEvent(applyEvent, event.getEventType().name(), event.getTask().getId(), 1, applied);
+        }
+    }
+    
+    /**
+     * Ringkasan hasil upsert batch. Rincian baru/diperbarui hanya ditampilkan jika repository
+     * melaporkan hasil setiap baris.
+     */
+    private static String describeUpserts(List<UpsertResult> results) {
+        int inserted = 0;
+        int updated = 0;
+        for (UpsertResult result : results) {
+            if (result == UpsertResult.UNKNOWN) {
+                return String.format("Database: Berhasil menyimpan %d task", results.size());
+            }
+            if (result == UpsertResult.INSERTED) {
+                inserted++;
+            } else if (result == UpsertResult.UPDATED) {
+                updated++;
+            }
+        }
+        return String.format("Database: Berhasil menyimpan %d task (%d baru, %d diperbarui)",
+                results.size(), inserted, updated);
+    }
+    
+    /**
+     * Catat event JFR jika perekaman aktif dan durasinya melewati threshold
+     */
+    private static void commitApplyEvent(TaskApplyEvent applyEvent, String eventType, String taskId,
+            int taskCount, boolean succeeded) {
+        if (applyEvent.shouldCommit()) {
+            applyEvent.eventType = eventType;
+            applyEvent.taskId = taskId;
+            applyEvent.taskCount = taskCount;
+            applyEvent.succeeded = succeeded;
+            applyEvent.commit();
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.kafkaapp.consumer.view;
 
-import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.config.AppConfig;
+import com.kafkaapp.common.metrics.LatencyHistogram;
+import com.kafkaapp.common.model.TaskSnapshot;
 import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.consumer.service.PipelineLatency;
 
-import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,22 +14,60 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Tampilan utama untuk aplikasi Consumer
+ * Tampilan utama untuk aplikasi Consumer.
+ * <p>
+ * Event dan pesan log dari thread consumer dimasukkan ke antrian lock-free dan diterapkan ke
+ * ListView sekali per frame oleh {@link AnimationTimer}, paling banyak
+ * {@code consumer.ui.maxLinesPerFrame} baris per frame. Kelebihannya dilewati dan diringkas
+ * dalam satu baris, kecuali pesan error yang selalu ditampilkan. Log ditampung di
+ * {@link RingBufferLogList} berkapasitas {@code consumer.ui.log.capacity}.
  */
 public class ConsumerView {
     private final Stage primaryStage;
     
     private ListView<String> activityLogListView;
-    private ObservableList<String> activityLogs = FXCollections.observableArrayList();
+    private final RingBufferLogList activityLogs;
+    private Label rateLabel;
+    private Label latencyLabel;
+    
+    // Antrian dari thread consumer ke JavaFX thread
+    private final Queue<LogEntry> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder droppedEntries = new LongAdder();
+    private final LongAdder receivedEvents = new LongAdder();
+    private final int maxLinesPerFrame;
+    private final int maxPendingEntries;
     
     // Format untuk tampilan tanggal
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss");
     
     public ConsumerView(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        this.maxLinesPerFrame = Math.max(1, AppConfig.getInt("consumer.ui.maxLinesPerFrame", 20));
+        // Cukup untuk beberapa detik tanpa frame; sisanya langsung dihitung sebagai dilewati
+        this.maxPendingEntries = Math.max(maxLinesPerFrame, AppConfig.getInt("consumer.ui.maxPending", 5000));
+        
+        // Log aktivitas berkapasitas tetap; baris lama opsional ditulis ke file
+        RollingLogSpill spill = null;
+        if (Boolean.parseBoolean(AppConfig.getProperty("consumer.ui.log.spill.enabled", "false"))) {
+            spill = RollingLogSpill.open(
+                    AppConfig.getProperty("consumer.ui.log.spill.pattern", "logs/consumer-activity-%g.log"),
+                    AppConfig.getInt("consumer.ui.log.spill.maxBytes", 10 * 1024 * 1024),
+                    AppConfig.getInt("consumer.ui.log.spill.files", 5));
+        }
+        this.activityLogs = new RingBufferLogList(
+                Math.max(1, AppConfig.getInt("consumer.ui.log.capacity", 1000)), spill);
     }
     
     /**
@@ -53,6 +92,8 @@ public class ConsumerView {
         
         primaryStage.setScene(scene);
         primaryStage.show();
+        
+        createLogUpdater().start();
     }
     
     /**
@@ -69,7 +110,10 @@ public class ConsumerView {
         Label subtitleLabel = new Label("Consumer Application");
         subtitleLabel.getStyleClass().add("header-label");
         
-        headerBox.getChildren().addAll(titleLabel, subtitleLabel, new Separator());
+        rateLabel = new Label("0 event/detik");
+        latencyLabel = new Label("Latensi: belum ada data");
+        
+        headerBox.getChildren().addAll(titleLabel, subtitleLabel, rateLabel, latencyLabel, new Separator());
         return headerBox;
     }
     
@@ -139,73 +183,189 @@ public class ConsumerView {
     }
     
     /**
-     * Tambahkan event task ke log aktivitas
+     * Tambahkan event task ke log aktivitas.
+     * Aman dipanggil dari thread mana pun; baris diformat di JavaFX thread hanya jika ditampilkan.
      */
     public void addTaskEvent(TaskEvent event) {
-        Platform.runLater(() -> {
-            StringBuilder logBuilder = new StringBuilder();
-            String timestamp = event.getEventTime().format(dateFormatter);
-            
-            // Menambahkan ikon berdasarkan jenis event
-            String eventIcon = "";
-            switch (event.getEventType()) {
-                case CREATE:
-                    eventIcon = "➕ ";
-                    break;
-                case UPDATE:
-                    eventIcon = "✏️ ";
-                    break;
-                case DELETE:
-                    eventIcon = "🗑️ ";
-                    break;
-            }
-            
-            logBuilder.append(timestamp)
-                    .append(" | ")
-                    .append(eventIcon)
-                    .append(event.getEventType())
-                    .append(" | Task: ");
-            
-            Task task = event.getTask();
-            if (task != null) {
-                logBuilder.append("ID: ").append(task.getId().substring(0, 8)).append("... | ");
-                logBuilder.append("Judul: ").append(task.getTitle()).append(" | ");
-                
-                if (event.getEventType() != TaskEvent.EventType.DELETE) {
-                    logBuilder.append("Status: ").append(task.getStatus());
-                }
-            }
-            
-            activityLogs.add(0, logBuilder.toString());
-            
-            // Batasi jumlah log yang ditampilkan (opsional)
-            if (activityLogs.size() > 100) {
-                activityLogs.remove(100, activityLogs.size());
-            }
-        });
+        receivedEvents.increment();
+        enqueue(new LogEntry(event, null, null, false));
     }
     
     /**
      * Tambahkan pesan informasi ke log
      */
     public void addInfoMessage(String message) {
-        addLogMessage("[INFO] " + message);
+        addLogMessage("[INFO] " + message, false);
     }
     
     /**
      * Tambahkan pesan error ke log
      */
     public void addErrorMessage(String message) {
-        addLogMessage("[ERROR] " + message);
+        addLogMessage("[ERROR] " + message, true);
     }
     
     /**
      * Tambahkan pesan ke log dengan timestamp
      */
-    private void addLogMessage(String message) {
-        Platform.runLater(() -> {
-            String timestamp = java.time.LocalDateTime.now().format(dateFormatter);
-            activityLogs.add(0, timestamp + " | " + message);
-        });
+    private void addLogMessage(String message, boolean error) {
+        enqueue(new LogEntry(null, message, LocalDateTime.now(), error));
+    }
+    
+    private void enqueue(LogEntry entry) {
+        // Saat JavaFX thread tertinggal jauh, entri biasa langsung dihitung sebagai dilewati
+        if (!entry.error && pendingCount.get() >= maxPendingEntries) {
+            droppedEntries.increment();
+            return;
+        }
+        pendingCount.incrementAndGet();
+        pendingEntries.add(entry);
+    }
+    
+    /**
+     * Timer yang mengosongkan antrian sekali per frame dan memperbarui label event/detik
+     */
+    private AnimationTimer createLogUpdater() {
+        return new AnimationTimer() {
+            private long rateWindowStart;
+            private long rateWindowEvents;
+            
+            @Override
+            public void handle(long now) {
+                drainPendingEntries();
+                
+                if (rateWindowStart == 0) {
+                    rateWindowStart = now;
+                    return;
+                }
+                long elapsed = now - rateWindowStart;
+                if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+                    long events = receivedEvents.sum();
+                    long rate = (events - rateWindowEvents) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+                    rateLabel.setText(String.format("%,d event/detik | %,d baris dilewati",
+                            rate, droppedEntries.sum()));
+                    updateLatencyLabel();
+                    rateWindowEvents = events;
+                    rateWindowStart = now;
+                }
+            }
+        };
+    }
+    
+    /**
+     * Tampilkan persentil latensi setiap tahap pipeline sejak aplikasi dimulai
+     */
+    private void updateLatencyLabel() {
+        PipelineLatency latency = PipelineLatency.getInstance();
+        if (latency.getEndToEnd().getCount() == 0 && latency.getDeserialize().getCount() == 0) {
+            return;
+        }
+        latencyLabel.setText("Latensi p50/p99/p99.9 (ms) | poll " + percentiles(latency.getProduceToPoll())
+                + " | deserialisasi " + percentiles(latency.getDeserialize())
+                + " | database " + percentiles(latency.getDbWrite())
+                + " | end-to-end " + percentiles(latency.getEndToEnd()));
+    }
+    
+    private static String percentiles(LatencyHistogram histogram) {
+        return String.format("%.2f/%.2f/%.2f",
+                LatencyHistogram.toMillis(histogram.getPercentileNanos(50)),
+                LatencyHistogram.toMillis(histogram.getPercentileNanos(99)),
+                LatencyHistogram.toMillis(histogram.getPercentileNanos(99.9)));
+    }
+    
+    /**
+     * Terapkan entri yang menunggu ke ListView dalam satu perubahan list.
+     * Hanya {@link #maxLinesPerFrame} entri terbaru yang ditampilkan, ditambah pesan error.
+     */
+    private void drainPendingEntries() {
+        int available = pendingCount.get();
+        if (available == 0) {
+            return;
+        }
+        
+        List<LogEntry> batch = new ArrayList<>(Math.min(available, 1024));
+        LogEntry entry;
+        while (batch.size() < available && (entry = pendingEntries.poll()) != null) {
+            batch.add(entry);
+        }
+        pendingCount.addAndGet(-batch.size());
+        
+        // Urutan tampilan: terbaru paling atas
+        List<String> lines = new ArrayList<>(Math.min(batch.size(), maxLinesPerFrame) + 1);
+        int skipped = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            LogEntry pending = batch.get(i);
+            if (pending.error || lines.size() < maxLinesPerFrame) {
+                lines.add(format(pending));
+            } else {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            droppedEntries.add(skipped);
+            lines.add(LocalDateTime.now().format(dateFormatter)
+                    + " | [INFO] " + skipped + " baris log dilewati agar tampilan tetap responsif");
+        }
+        
+        // Baris tertua otomatis terbuang saat kapasitas penuh
+        activityLogs.addAllFirst(lines);
+    }
+    
+    private String format(LogEntry entry) {
+        if (entry.event == null) {
+            return entry.time.format(dateFormatter) + " | " + entry.message;
+        }
+        
+        TaskEvent event = entry.event;
+        StringBuilder logBuilder = new StringBuilder();
+        String timestamp = event.getEventTime().format(dateFormatter);
+        
+        // Menambahkan ikon berdasarkan jenis event
+        String eventIcon = "";
+        switch (event.getEventType()) {
+            case CREATE:
+                eventIcon = "➕ ";
+                break;
+            case UPDATE:
+                eventIcon = "✏️ ";
+                break;
+            case DELETE:
+                eventIcon = "🗑️ ";
+                break;
+        }
+        
+        logBuilder.append(timestamp)
+                .append(" | ")
+                .append(eventIcon)
+                .append(event.getEventType())
+                .append(" | Task: ");
+        
+        TaskSnapshot task = event.getTask();
+        if (task != null) {
+            logBuilder.append("ID: ").append(task.getId().substring(0, 8)).append("... | ");
+            logBuilder.append("Judul: ").append(task.getTitle()).append(" | ");
+            
+            if (event.getEventType() != TaskEvent.EventType.DELETE) {
+                logBuilder.append("Status: ").append(task.getStatus());
+            }
+        }
+        return logBuilder.toString();
+    }
+    
+    /**
+     * Entri log yang menunggu: event task, atau pesan dengan waktu pencatatan
+     */
+    private static final class LogEntry {
+        final TaskEvent event;
+        final String message;
+        final LocalDateTime time;
+        final boolean error;
+        
+        LogEntry(TaskEvent event, String message, LocalDateTime time, boolean error) {
+            this.event = event;
+            this.message = message;
+            this.time = time;
+            this.error = error;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.kafkaapp.consumer.view;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ObservableList berkapasitas tetap untuk log aktivitas, dengan entri terbaru di indeks 0.
+ * <p>
+ * Disimpan dalam array melingkar sehingga menambah baris di depan dan membuang baris tertua
+ * tidak menggeser isi list. Baris yang terbuang karena kapasitas penuh diteruskan ke
+ * eviction listener (misalnya untuk ditulis ke file). Hanya boleh diubah dari JavaFX thread.
+ */
+class RingBufferLogList extends ObservableListBase<String> {
+    private final String[] buffer;
+    private final Consumer<List<String>> evictionListener;
+    // Posisi entri terbaru di buffer
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity Jumlah maksimum baris
+     * @param evictionListener Penerima baris yang terbuang, urut dari yang terlama; boleh null
+     */
+    RingBufferLogList(int capacity, Consumer<List<String>> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity harus lebih besar dari 0");
+        }
+        this.buffer = new String[capacity];
+        this.evictionListener = evictionListener;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return buffer[(head + index) % buffer.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Tambahkan baris di depan list dalam satu perubahan
+     *
+     * @param lines Baris baru, urut dari yang terbaru
+     */
+    void addAllFirst(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        int capacity = buffer.length;
+        int added = Math.min(lines.size(), capacity);
+        int removedCount = Math.max(0, size + added - capacity);
+
+        // Baris tertua yang akan tertimpa, urut dari yang terbaru (sesuai posisi di list)
+        List<String> removed = new ArrayList<>(removedCount);
+        for (int i = size - removedCount; i < size; i++) {
+            removed.add(get(i));
+        }
+
+        // Baris baru yang tidak muat langsung terbuang
+        List<String> overflow = lines.size() > capacity ? lines.subList(capacity, lines.size()) : Collections.emptyList();
+
+        for (int i = added - 1; i >= 0; i--) {
+            head = (head - 1 + capacity) % capacity;
+            buffer[head] = lines.get(i);
+        }
+        int oldSize = size;
+        size = Math.min(size + added, capacity);
+
+        beginChange();
+        nextAdd(0, added);
+        if (removedCount > 0) {
+            nextRemove(added + oldSize - removedCount, removed);
+        }
+        endChange();
+
+        notifyEvicted(overflow, removed);
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        List<String> removed = new ArrayList<>(this);
+        Arrays.fill(buffer, null);
+        head = 0;
+        size = 0;
+
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    private void notifyEvicted(List<String> overflow, List<String> removed) {
+        if (evictionListener == null || (overflow.isEmpty() && removed.isEmpty())) {
+            return;
+        }
+        List<String> evicted = new ArrayList<>(overflow.size() + removed.size());
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            evicted.add(removed.get(i));
+        }
+        for (int i = overflow.size() - 1; i >= 0; i--) {
+            evicted.add(overflow.get(i));
+        }
+        evictionListener.accept(evicted);
+    }
+}
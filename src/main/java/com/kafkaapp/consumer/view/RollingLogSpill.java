@@ -0,0 +1,72 @@
+package com.kafkaapp.consumer.view;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Menulis baris log aktivitas yang terbuang dari tampilan ke file bergulir di disk.
+ * <p>
+ * Memakai {@link FileHandler} pada logger khusus yang tidak meneruskan ke parent, sehingga
+ * ukuran dan jumlah file dibatasi dan handler ditutup otomatis saat JVM berhenti.
+ * Semua baris dari satu pemanggilan ditulis sebagai satu record agar hanya ada satu flush.
+ */
+class RollingLogSpill implements Consumer<List<String>> {
+    private static final Logger LOGGER = Logger.getLogger(RollingLogSpill.class.getName());
+
+    private final Logger spillLogger;
+
+    private RollingLogSpill(Logger spillLogger) {
+        this.spillLogger = spillLogger;
+    }
+
+    /**
+     * Membuat spill ke file dengan pola nama FileHandler (misalnya {@code logs/activity-%g.log})
+     *
+     * @param pattern Pola nama file
+     * @param limitBytes Ukuran maksimum satu file
+     * @param count Jumlah file yang dipertahankan
+     * @return Spill, atau null jika file tidak dapat dibuka
+     */
+    static RollingLogSpill open(String pattern, int limitBytes, int count) {
+        try {
+            File parent = new File(pattern).getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                LOGGER.warning("Gagal membuat direktori log: " + parent);
+            }
+
+            FileHandler handler = new FileHandler(pattern, limitBytes, count, true);
+            handler.setEncoding("UTF-8");
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage();
+                }
+            });
+
+            Logger spillLogger = Logger.getLogger("com.kafkaapp.consumer.activity");
+            spillLogger.setUseParentHandlers(false);
+            spillLogger.setLevel(Level.INFO);
+            spillLogger.addHandler(handler);
+            return new RollingLogSpill(spillLogger);
+        } catch (IOException | SecurityException e) {
+            LOGGER.log(Level.WARNING, "Gagal membuka file log aktivitas: " + pattern, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void accept(List<String> lines) {
+        StringBuilder builder = new StringBuilder(lines.size() * 96);
+        for (String line : lines) {
+            builder.append(line).append(System.lineSeparator());
+        }
+        spillLogger.log(Level.INFO, builder.toString());
+    }
+}
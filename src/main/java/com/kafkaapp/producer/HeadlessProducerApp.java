@@ -0,0 +1,137 @@
+package com.kafkaapp.producer;
+
+import com.kafkaapp.common.config.LoggingConfig;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.producer.controller.TaskController;
+import com.kafkaapp.producer.service.KafkaProducerService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Producer tanpa JavaFX untuk deployment server.
+ * <p>
+ * Menjalankan {@link KafkaProducerService} dan {@link TaskController} dan menerima perintah
+ * per baris dari stdin:
+ * <pre>
+ * create &lt;judul&gt;[|&lt;deskripsi&gt;]
+ * update &lt;id&gt;|&lt;judul&gt;|&lt;deskripsi&gt;|&lt;TODO|IN_PROGRESS|DONE&gt;
+ * delete &lt;id&gt;
+ * delete-status &lt;TODO|IN_PROGRESS|DONE&gt;
+ * list
+ * quit
+ * </pre>
+ * Jika stdin ditutup, aplikasi tetap berjalan sampai menerima SIGTERM/SIGINT. Saat berhenti,
+ * event yang masih menunggu acknowledgement broker dikirim dulu sebelum producer ditutup.
+ */
+public class HeadlessProducerApp {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessProducerApp.class);
+    
+    public static void main(String[] args) throws InterruptedException {
+        LoggingConfig.install();
+        logger.info("Starting headless Producer");
+        
+        KafkaProducerService kafkaProducerService = new KafkaProducerService();
+        TaskController taskController = new TaskController(kafkaProducerService);
+        
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logger.info("Shutting down headless Producer, {} event masih menunggu acknowledgement",
+                    kafkaProducerService.getInFlightCount());
+            kafkaProducerService.close();
+            logger.info("Headless Producer stopped");
+            stopped.countDown();
+        }, "producer-shutdown"));
+        
+        logger.info("Headless Producer started, menunggu perintah dari stdin");
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if ("quit".equals(line.trim())) {
+                    System.exit(0);
+                }
+                handleCommand(taskController, line.trim());
+            }
+        } catch (IOException e) {
+            logger.error("Gagal membaca perintah dari stdin", e);
+        }
+        
+        stopped.await();
+    }
+    
+    /**
+     * Menjalankan satu perintah dari stdin
+     */
+    private static void handleCommand(TaskController taskController, String line) {
+        if (line.isEmpty()) {
+            return;
+        }
+        
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String[] parts = space < 0 ? new String[0] : line.substring(space + 1).split("\\|", -1);
+        
+        try {
+            switch (command) {
+                case "create": {
+                    if (parts.length < 1 || parts[0].isEmpty()) {
+                        logger.warn("Format: create <judul>[|<deskripsi>]");
+                        return;
+                    }
+                    TaskSnapshot task = taskController.createTask(parts[0], parts.length > 1 ? parts[1] : "");
+                    logger.info("Task dibuat: {}", task.getId());
+                    break;
+                }
+                case "update": {
+                    if (parts.length < 4) {
+                        logger.warn("Format: update <id>|<judul>|<deskripsi>|<status>");
+                        return;
+                    }
+                    TaskSnapshot task = taskController.updateTask(
+                            parts[0], parts[1], parts[2], Task.TaskStatus.valueOf(parts[3]));
+                    if (task == null) {
+                        logger.warn("Task tidak ditemukan: {}", parts[0]);
+                    } else {
+                        logger.info("Task diperbarui: {}", task.getId());
+                    }
+                    break;
+                }
+                case "delete": {
+                    if (parts.length < 1 || !taskController.deleteTask(parts[0])) {
+                        logger.warn("Task tidak ditemukan: {}", parts.length > 0 ? parts[0] : "");
+                    } else {
+                        logger.info("Task dihapus: {}", parts[0]);
+                    }
+                    break;
+                }
+                case "delete-status": {
+                    if (parts.length < 1) {
+                        logger.warn("Format: delete-status <status>");
+                        return;
+                    }
+                    taskController.deleteTasksByStatus(Task.TaskStatus.valueOf(parts[0]))
+                            .thenAccept(deleted -> logger.info("{} task dengan status {} dihapus", deleted, parts[0]));
+                    break;
+                }
+                case "list":
+                    for (TaskSnapshot task : taskController.getAllTasks()) {
+                        logger.info("{}", task);
+                    }
+                    break;
+                default:
+                    logger.warn("Perintah tidak dikenal: {}", command);
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Perintah tidak valid: {} ({})", line, e.getMessage());
+        }
+    }
+}
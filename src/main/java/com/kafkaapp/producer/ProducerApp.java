@@ -1,5 +1,6 @@
 package com.kafkaapp.producer;
 
+import com.kafkaapp.common.config.LoggingConfig;
 import com.kafkaapp.producer.controller.TaskController;
 import com.kafkaapp.producer.service.KafkaProducerService;
 import com.kafkaapp.producer.view.ProducerView;
@@ -20,6 +21,7 @@ public class ProducerApp extends Application {
     private KafkaProducerService kafkaProducerService;
     
     public static void main(String[] args) {
+        LoggingConfig.install();
         Application.launch(ProducerApp.class, args);
     }
     
@@ -36,8 +38,8 @@ public class ProducerApp extends Application {
             // Inisialisasi Kafka Producer
             kafkaProducerService = new KafkaProducerService();
             
-            // Inisialisasi Controller
-            TaskController taskController = new TaskController(kafkaProducerService);
+            // Inisialisasi Controller; penghapusan yang menunggu commit Kafka diterapkan di thread JavaFX
+            TaskController taskController = new TaskController(kafkaProducerService, Platform::runLater);
             
             // Inisialisasi View
             ProducerView producerView = new ProducerView(taskController, primaryStage);
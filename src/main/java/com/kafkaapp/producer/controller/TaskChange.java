@@ -0,0 +1,53 @@
+package com.kafkaapp.producer.controller;
+
+import com.kafkaapp.common.model.TaskSnapshot;
+
+/**
+ * Perubahan satu task yang dikirim ke change listener TaskController
+ */
+public final class TaskChange {
+
+    // Jenis perubahan
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final Type type;
+    private final TaskSnapshot task;
+
+    private TaskChange(Type type, TaskSnapshot task) {
+        this.type = type;
+        this.task = task;
+    }
+
+    public static TaskChange added(TaskSnapshot task) {
+        return new TaskChange(Type.ADDED, task);
+    }
+
+    public static TaskChange updated(TaskSnapshot task) {
+        return new TaskChange(Type.UPDATED, task);
+    }
+
+    /**
+     * @param task Task terakhir sebelum dihapus
+     */
+    public static TaskChange removed(TaskSnapshot task) {
+        return new TaskChange(Type.REMOVED, task);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public TaskSnapshot getTask() {
+        return task;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChange{" +
+                "type=" + type +
+                ", task=" + task +
+                '}';
+    }
+}
@@ -1,16 +1,23 @@
 package com.kafkaapp.producer.controller;
 
 import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
 import com.kafkaapp.producer.repository.InMemoryTaskRepository;
-import com.kafkaapp.common.repository.TaskRepository;
 import com.kafkaapp.producer.service.KafkaProducerService;
 
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Controller untuk mengelola operasi CRUD pada Task
@@ -18,34 +25,97 @@ import java.util.function.Consumer;
 public class TaskController {
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
     
-    private final TaskRepository taskRepository;
+    private final InMemoryTaskRepository taskRepository;
     private final KafkaProducerService kafkaProducerService;
-    private final List<Consumer<List<Task>>> listeners = new ArrayList<>();
+    private final Executor mutationExecutor;
+    private final List<Consumer<TaskChange>> listeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<TaskEvent, Throwable>> deliveryListeners = new CopyOnWriteArrayList<>();
     
     public TaskController(KafkaProducerService kafkaProducerService) {
+        this(kafkaProducerService, Runnable::run);
+    }
+    
+    /**
+     * @param kafkaProducerService Service pengirim event
+     * @param mutationExecutor Thread tempat perubahan yang tertunda sampai commit Kafka diterapkan
+     *                         dan dinotifikasi, misalnya {@code Platform::runLater} pada aplikasi JavaFX
+     */
+    public TaskController(KafkaProducerService kafkaProducerService, Executor mutationExecutor) {
         this.kafkaProducerService = kafkaProducerService;
+        this.mutationExecutor = mutationExecutor;
         this.taskRepository = InMemoryTaskRepository.getInstance();
         logger.info("TaskController diinisialisasi dengan InMemoryTaskRepository");
     }
     
     /**
-     * Tambahkan listener untuk perubahan data
+     * Tambahkan listener untuk perubahan data.
+     * <p>
+     * Listener hanya menerima perubahan per task (ditambah, diubah, dihapus) dari thread yang
+     * melakukan perubahan, kecuali penghapusan dari {@link #deleteTasksByStatus} yang
+     * dinotifikasi lewat {@code mutationExecutor}. Data awal diambil sendiri lewat {@link #getAllTasks()}.
      * 
-     * @param listener Consumer yang akan dipanggil ketika data berubah
+     * @param listener Consumer yang akan dipanggil untuk setiap perubahan task
      */
-    public void addChangeListener(Consumer<List<Task>> listener) {
+    public void addChangeListener(Consumer<TaskChange> listener) {
         listeners.add(listener);
-        // Panggil listener dengan data saat ini
-        listener.accept(getAllTasks());
     }
     
     /**
-     * Notifikasi semua listener tentang perubahan data
+     * Tambahkan listener untuk hasil pengiriman event ke Kafka.
+     * <p>
+     * Listener dipanggil dari thread I/O Kafka setelah broker memberi acknowledgement.
+     * Parameter kedua bernilai null jika pengiriman berhasil.
+     * 
+     * @param listener BiConsumer yang menerima event dan error pengiriman (jika ada)
+     */
+    public void addDeliveryListener(BiConsumer<TaskEvent, Throwable> listener) {
+        deliveryListeners.add(listener);
+    }
+    
+    /**
+     * Kirim event ke Kafka tanpa menunggu acknowledgement broker.
+     * Hasil pengiriman dilaporkan ke delivery listener.
+     * 
+     * @param event TaskEvent yang akan dikirim
+     */
+    private CompletableFuture<RecordMetadata> publish(TaskEvent event) {
+        CompletableFuture<RecordMetadata> result = kafkaProducerService.sendTaskEventAsync(event);
+        result.whenComplete((metadata, error) -> {
+            if (error != null) {
+                logger.error("Gagal mengirim event {} untuk task {}", 
+                        event.getEventType(), event.getTask().getId(), error);
+            } else {
+                logger.debug("Event {} untuk task {} terkirim ke partition {} offset {}",
+                        event.getEventType(), event.getTask().getId(), 
+                        metadata.partition(), metadata.offset());
+            }
+            for (BiConsumer<TaskEvent, Throwable> listener : deliveryListeners) {
+                listener.accept(event, error);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Jalankan beberapa perubahan task sebagai satu transaksi Kafka.
+     * <p>
+     * Pada {@code kafka.producer.mode=transactional}, event dari semua perubahan di dalam
+     * {@code changes} di-commit bersama, sehingga consumer melihat semuanya atau tidak sama sekali.
+     * Pada mode lain, perubahan dijalankan biasa.
+     * 
+     * @param changes Perubahan yang memanggil method CRUD controller ini
+     * @return Hasil changes
      */
-    private void notifyListeners() {
-        List<Task> taskList = getAllTasks();
-        for (Consumer<List<Task>> listener : listeners) {
-            listener.accept(taskList);
+    public <T> T inTransaction(Supplier<T> changes) {
+        return kafkaProducerService.runInTransaction(changes);
+    }
+    
+    /**
+     * Notifikasi semua listener tentang perubahan satu task
+     */
+    private void notifyListeners(TaskChange change) {
+        for (Consumer<TaskChange> listener : listeners) {
+            listener.accept(change);
         }
     }
     
@@ -54,17 +124,47 @@ public class TaskController {
      * 
      * @return List dari semua task
      */
-    public List<Task> getAllTasks() {
+    public List<TaskSnapshot> getAllTasks() {
         return taskRepository.findAll();
     }
     
+    /**
+     * Mendapatkan task dengan status tertentu
+     *
+     * @param status Status task
+     * @return List task dengan status tersebut
+     */
+    public List<TaskSnapshot> getTasksByStatus(Task.TaskStatus status) {
+        return taskRepository.findByStatus(status);
+    }
+
+    /**
+     * Menghitung jumlah task dengan status tertentu
+     *
+     * @param status Status task
+     * @return Jumlah task
+     */
+    public int countTasksByStatus(Task.TaskStatus status) {
+        return taskRepository.countByStatus(status);
+    }
+
+    /**
+     * Mendapatkan task yang paling baru dibuat
+     *
+     * @param limit Jumlah maksimum task
+     * @return List task, urut dari yang terbaru
+     */
+    public List<TaskSnapshot> getRecentTasks(int limit) {
+        return taskRepository.findRecent(limit);
+    }
+
     /**
      * Mendapatkan task berdasarkan ID
      * 
      * @param id ID task
      * @return Task jika ditemukan, null jika tidak
      */
-    public Task getTaskById(String id) {
+    public TaskSnapshot getTaskById(String id) {
         return taskRepository.findById(id).orElse(null);
     }
     
@@ -75,17 +175,15 @@ public class TaskController {
      * @param description Deskripsi task
      * @return Task yang dibuat
      */
-    public Task createTask(String title, String description) {
-        Task task = new Task(title, description);
-        
+    public TaskSnapshot createTask(String title, String description) {
         // Simpan di memory
-        task = taskRepository.save(task);
+        TaskSnapshot task = taskRepository.save(TaskSnapshot.create(title, description));
         
         // Kirim event ke Kafka
-        kafkaProducerService.sendCreateEvent(task);
+        publish(new TaskEvent(TaskEvent.EventType.CREATE, task));
         
         // Notifikasi listener
-        notifyListeners();
+        notifyListeners(TaskChange.added(task));
         
         return task;
     }
@@ -99,28 +197,58 @@ public class TaskController {
      * @param status Status baru
      * @return Task yang diupdate, null jika tidak ditemukan
      */
-    public Task updateTask(String id, String title, String description, Task.TaskStatus status) {
-        Task task = getTaskById(id);
-        if (task == null) {
+    public TaskSnapshot updateTask(String id, String title, String description, Task.TaskStatus status) {
+        TaskSnapshot current = getTaskById(id);
+        if (current == null) {
             return null;
         }
         
-        task.setTitle(title);
-        task.setDescription(description);
-        task.setStatus(status);
-        
-        // Simpan update di memory
-        task = taskRepository.save(task);
+        // Snapshot baru; task lama yang mungkin sedang dibaca thread lain tidak berubah
+        TaskSnapshot task = taskRepository.save(current.withChanges(title, description, status));
         
         // Kirim event ke Kafka
-        kafkaProducerService.sendUpdateEvent(task);
+        publish(new TaskEvent(TaskEvent.EventType.UPDATE, task));
         
         // Notifikasi listener
-        notifyListeners();
+        notifyListeners(TaskChange.updated(task));
         
         return task;
     }
     
+    /**
+     * Menghapus semua task dengan status tertentu dalam satu transaksi Kafka.
+     * <p>
+     * Event DELETE dikirim lebih dulu; task baru dihapus dari memory dan listener baru
+     * dinotifikasi setelah event-nya di-commit, di {@code mutationExecutor}. Jika transaksi
+     * di-abort atau gagal di-commit, data lokal tidak berubah. Task yang diubah setelah event
+     * DELETE-nya dikirim tidak ikut dihapus dari memory.
+     * 
+     * @param status Status task yang dihapus
+     * @return Future yang selesai dengan jumlah task yang dihapus
+     */
+    public CompletableFuture<Integer> deleteTasksByStatus(Task.TaskStatus status) {
+        List<TaskSnapshot> tasks = getTasksByStatus(status);
+        List<CompletableFuture<Boolean>> results = inTransaction(() -> {
+            List<CompletableFuture<Boolean>> deletions = new ArrayList<>(tasks.size());
+            for (TaskSnapshot task : tasks) {
+                deletions.add(publish(new TaskEvent(TaskEvent.EventType.DELETE, task))
+                        .handle((metadata, error) -> error == null)
+                        .thenApplyAsync(committed -> committed && removeLocally(task), mutationExecutor));
+            }
+            return deletions;
+        });
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> (int) results.stream().filter(CompletableFuture::join).count());
+    }
+    
+    private boolean removeLocally(TaskSnapshot task) {
+        if (!taskRepository.deleteIfUnchanged(task)) {
+            return false;
+        }
+        notifyListeners(TaskChange.removed(task));
+        return true;
+    }
+    
     /**
      * Menghapus task
      * 
@@ -128,7 +256,7 @@ public class TaskController {
      * @return true jika berhasil dihapus, false jika tidak
      */
     public boolean deleteTask(String id) {
-        Task task = getTaskById(id);
+        TaskSnapshot task = getTaskById(id);
         if (task == null) {
             return false;
         }
@@ -140,10 +268,10 @@ public class TaskController {
         }
         
         // Kirim event ke Kafka
-        kafkaProducerService.sendDeleteEvent(task);
+        publish(new TaskEvent(TaskEvent.EventType.DELETE, task));
         
         // Notifikasi listener
-        notifyListeners();
+        notifyListeners(TaskChange.removed(task));
         
         return true;
     }
@@ -0,0 +1,245 @@
+package com.kafkaapp.producer.loadgen;
+
+import com.kafkaapp.common.metrics.LatencyHistogram;
+import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskEvent;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.producer.service.KafkaProducerService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator sintetis yang mengirim campuran event CREATE/UPDATE/DELETE lewat
+ * {@link KafkaProducerService#sendTaskEventAsync}.
+ * <p>
+ * Setiap key (slot) menyimpan state task terakhir, sehingga UPDATE dan DELETE selalu mengacu ke
+ * task yang sudah dibuat: operasi pada slot kosong dikirim sebagai CREATE, dan CREATE pada slot
+ * yang terisi dikirim sebagai UPDATE. Dengan target rate, latensi diukur dari waktu kirim yang
+ * dijadwalkan (bukan waktu pemanggilan), sehingga antrian akibat backpressure ikut terhitung.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final KafkaProducerService producerService;
+    private final LoadGeneratorOptions options;
+
+    // Hanya diakses dari thread generator
+    private final TaskSnapshot[] slots;
+    private final double[] zipfCdf;
+    private final String payloadPool;
+    private final long[] sentByType = new long[TaskEvent.EventType.values().length];
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public LoadGenerator(KafkaProducerService producerService, LoadGeneratorOptions options) {
+        this.producerService = producerService;
+        this.options = options;
+        this.slots = new TaskSnapshot[options.keys];
+        this.zipfCdf = options.skew > 0 ? zipfCdf(options.keys, options.skew) : null;
+        this.payloadPool = randomText(Math.max(1, options.payloadMax) * 4);
+    }
+
+    /**
+     * Jalankan load sampai durasi atau jumlah event tercapai, atau {@link #stop()} dipanggil
+     */
+    public void run() {
+        logger.info("Load generator dimulai: {}", options);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long[] lastAcked = {0};
+        long[] lastReport = {System.nanoTime()};
+        reporter.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            long ackedNow = acked.sum();
+            double seconds = (now - lastReport[0]) / 1e9;
+            logger.info("[interval] {} ack/s, sent={}, acked={}, errors={}, in-flight={}, latency {}",
+                    String.format("%.0f", (ackedNow - lastAcked[0]) / seconds), sent.sum(), ackedNow,
+                    errors.sum(), producerService.getInFlightCount(), intervalLatency.summary());
+            intervalLatency.reset();
+            lastAcked[0] = ackedNow;
+            lastReport[0] = now;
+        }, options.reportIntervalSeconds, options.reportIntervalSeconds, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        double intervalNanos = options.rate > 0 ? 1e9 / options.rate : 0;
+
+        try {
+            for (long i = 0; running; i++) {
+                if (options.events > 0 ? i >= options.events : System.nanoTime() >= deadline) {
+                    break;
+                }
+                long intended;
+                if (options.rate > 0) {
+                    intended = start + (long) (i * intervalNanos);
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    intended = System.nanoTime();
+                }
+                sendOne(intended);
+            }
+        } finally {
+            awaitInFlight();
+            reporter.shutdownNow();
+        }
+
+        report(System.nanoTime() - start);
+    }
+
+    /**
+     * Hentikan generator; event yang sedang in-flight tetap ditunggu
+     */
+    public void stop() {
+        running = false;
+    }
+
+    private void sendOne(long intendedNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = nextSlot(random);
+        TaskSnapshot current = slots[slot];
+        TaskEvent.EventType type = nextType(random);
+
+        TaskEvent event;
+        if (current == null) {
+            TaskSnapshot created = TaskSnapshot.create("Load test task " + slot, nextPayload(random));
+            slots[slot] = created;
+            event = new TaskEvent(TaskEvent.EventType.CREATE, created);
+        } else if (type == TaskEvent.EventType.DELETE) {
+            slots[slot] = null;
+            event = new TaskEvent(TaskEvent.EventType.DELETE, current);
+        } else {
+            Task.TaskStatus[] statuses = Task.TaskStatus.values();
+            TaskSnapshot updated = current.withChanges(current.getTitle(), nextPayload(random),
+                    statuses[random.nextInt(statuses.length)]);
+            slots[slot] = updated;
+            event = new TaskEvent(TaskEvent.EventType.UPDATE, updated);
+        }
+
+        sentByType[event.getEventType().ordinal()]++;
+        sent.increment();
+        producerService.sendTaskEventAsync(event).whenComplete((metadata, error) -> {
+            if (error == null) {
+                acked.increment();
+                latency.recordSince(intendedNanos);
+                intervalLatency.recordSince(intendedNanos);
+            } else {
+                errors.increment();
+            }
+        });
+    }
+
+    private TaskEvent.EventType nextType(ThreadLocalRandom random) {
+        int roll = random.nextInt(options.createWeight + options.updateWeight + options.deleteWeight);
+        if (roll < options.createWeight) {
+            return TaskEvent.EventType.CREATE;
+        }
+        if (roll < options.createWeight + options.updateWeight) {
+            return TaskEvent.EventType.UPDATE;
+        }
+        return TaskEvent.EventType.DELETE;
+    }
+
+    private int nextSlot(ThreadLocalRandom random) {
+        if (zipfCdf == null) {
+            return random.nextInt(slots.length);
+        }
+        int index = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, slots.length - 1);
+    }
+
+    private String nextPayload(ThreadLocalRandom random) {
+        int length = options.payloadMin == options.payloadMax
+                ? options.payloadMin
+                : random.nextInt(options.payloadMin, options.payloadMax + 1);
+        int offset = random.nextInt(payloadPool.length() - length + 1);
+        return payloadPool.substring(offset, offset + length);
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (producerService.getInFlightCount() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (producerService.getInFlightCount() > 0) {
+            logger.warn("{} event masih in-flight setelah batas waktu", producerService.getInFlightCount());
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        logger.info("Load generator selesai dalam {} detik", String.format("%.1f", seconds));
+        logger.info("  sent={} (CREATE={}, UPDATE={}, DELETE={}), acked={}, errors={}",
+                sent.sum(),
+                sentByType[TaskEvent.EventType.CREATE.ordinal()],
+                sentByType[TaskEvent.EventType.UPDATE.ordinal()],
+                sentByType[TaskEvent.EventType.DELETE.ordinal()],
+                acked.sum(), errors.sum());
+        logger.info("  throughput={} ack/s", String.format("%.0f", acked.sum() / seconds));
+        logger.info("  send latency {}", latency.summary());
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getAckedCount() {
+        return acked.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * CDF distribusi Zipf: key ke-k (mulai 0) dipilih dengan peluang sebanding 1/(k+1)^s
+     */
+    private static double[] zipfCdf(int keys, double skew) {
+        double[] cdf = new double[keys];
+        double sum = 0;
+        for (int k = 0; k < keys; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < keys; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    private static String randomText(int length) {
+        String alphabet = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
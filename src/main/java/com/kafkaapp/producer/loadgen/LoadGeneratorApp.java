@@ -0,0 +1,60 @@
+package com.kafkaapp.producer.loadgen;
+
+import com.kafkaapp.common.config.LoggingConfig;
+import com.kafkaapp.producer.service.KafkaProducerService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Entry point command line untuk load generator, tanpa JavaFX.
+ * <p>
+ * Contoh: {@code --rate 5000 --duration 120 --mix 10:85:5 --keys 1000 --skew 1.1}
+ */
+public class LoadGeneratorApp {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorApp.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        LoggingConfig.install();
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadGeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (options.profile != null) {
+            // Dibaca KafkaConfig saat producer dibuat
+            System.setProperty("kafka.profile", options.profile.name());
+        }
+        KafkaProducerService producerService = new KafkaProducerService(options.bootstrapServers, options.maxInFlight);
+        LoadGenerator generator = new LoadGenerator(producerService, options);
+
+        // Ctrl+C: hentikan pengiriman, tunggu event in-flight, lalu cetak laporan akhir
+        CountDownLatch finished = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            generator.stop();
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "loadgen-shutdown"));
+
+        try {
+            generator.run();
+        } finally {
+            producerService.close();
+            finished.countDown();
+        }
+
+        if (generator.getErrorCount() > 0) {
+            logger.warn("{} event gagal dikirim", generator.getErrorCount());
+        }
+    }
+}
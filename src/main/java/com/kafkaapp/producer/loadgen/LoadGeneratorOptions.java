@@ -0,0 +1,135 @@
+package com.kafkaapp.producer.loadgen;
+
+import com.kafkaapp.common.config.KafkaConfig;
+import com.kafkaapp.common.config.KafkaTuningProfile;
+
+/**
+ * Opsi load generator dari argumen command line.
+ * <p>
+ * Format: {@code --nama nilai}. Opsi yang tidak diberikan memakai nilai default.
+ */
+public class LoadGeneratorOptions {
+    String bootstrapServers = KafkaConfig.getBootstrapServers();
+    /** Profil tuning producer, null berarti memakai kafka.profile */
+    KafkaTuningProfile profile;
+    /** Target event per detik, 0 berarti secepat mungkin */
+    int rate = 1000;
+    /** Lama pengujian dalam detik, dipakai jika events tidak diisi */
+    int durationSeconds = 60;
+    /** Jumlah event total, 0 berarti dibatasi durasi */
+    long events = 0;
+    /** Bobot CREATE, UPDATE dan DELETE */
+    int createWeight = 20;
+    int updateWeight = 70;
+    int deleteWeight = 10;
+    /** Jumlah task ID berbeda yang dipakai */
+    int keys = 10000;
+    /** Eksponen distribusi Zipf untuk pemilihan key, 0 berarti seragam */
+    double skew = 0.0;
+    /** Panjang deskripsi task dalam karakter */
+    int payloadMin = 32;
+    int payloadMax = 256;
+    int maxInFlight = 1000;
+    int reportIntervalSeconds = 5;
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Penggunaan: LoadGeneratorApp [opsi]",
+            "  --bootstrap <host:port>     Kafka bootstrap servers (default kafka.bootstrap.servers)",
+            "  --profile <nama>            Profil tuning: throughput, low-latency, balanced (default kafka.profile)",
+            "  --rate <n>                  Target event/detik, 0 = secepat mungkin (default 1000)",
+            "  --duration <detik>          Lama pengujian (default 60)",
+            "  --events <n>                Jumlah event total, menggantikan --duration",
+            "  --mix <c:u:d>               Bobot CREATE:UPDATE:DELETE (default 20:70:10)",
+            "  --keys <n>                  Jumlah task ID berbeda (default 10000)",
+            "  --skew <s>                  Eksponen Zipf untuk pemilihan key, 0 = seragam (default 0)",
+            "  --payload <min[:max]>       Panjang deskripsi dalam karakter (default 32:256)",
+            "  --max-in-flight <n>         Batas event yang menunggu acknowledgement (default 1000)",
+            "  --report-interval <detik>   Interval laporan (default 5)");
+
+    /**
+     * Parse argumen command line
+     *
+     * @param args Argumen
+     * @return Opsi hasil parsing
+     * @throws IllegalArgumentException jika argumen tidak valid
+     */
+    static LoadGeneratorOptions parse(String[] args) {
+        LoadGeneratorOptions options = new LoadGeneratorOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Nilai untuk " + name + " tidak ada");
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--bootstrap":
+                    options.bootstrapServers = value;
+                    break;
+                case "--profile":
+                    options.profile = KafkaTuningProfile.fromName(value);
+                    break;
+                case "--rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "--duration":
+                    options.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "--events":
+                    options.events = Long.parseLong(value);
+                    break;
+                case "--mix": {
+                    String[] weights = value.split(":");
+                    if (weights.length != 3) {
+                        throw new IllegalArgumentException("--mix harus berformat c:u:d");
+                    }
+                    options.createWeight = Integer.parseInt(weights[0]);
+                    options.updateWeight = Integer.parseInt(weights[1]);
+                    options.deleteWeight = Integer.parseInt(weights[2]);
+                    break;
+                }
+                case "--keys":
+                    options.keys = Integer.parseInt(value);
+                    break;
+                case "--skew":
+                    options.skew = Double.parseDouble(value);
+                    break;
+                case "--payload": {
+                    String[] bounds = value.split(":");
+                    options.payloadMin = Integer.parseInt(bounds[0]);
+                    options.payloadMax = bounds.length > 1 ? Integer.parseInt(bounds[1]) : options.payloadMin;
+                    break;
+                }
+                case "--max-in-flight":
+                    options.maxInFlight = Integer.parseInt(value);
+                    break;
+                case "--report-interval":
+                    options.reportIntervalSeconds = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opsi tidak dikenal: " + name);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (rate < 0 || durationSeconds <= 0 || events < 0 || keys <= 0 || skew < 0
+                || payloadMin < 0 || payloadMax < payloadMin || maxInFlight <= 0 || reportIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("Nilai opsi di luar rentang yang valid");
+        }
+        if (createWeight < 0 || updateWeight < 0 || deleteWeight < 0
+                || createWeight + updateWeight + deleteWeight == 0) {
+            throw new IllegalArgumentException("Bobot --mix tidak valid");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%s, %s, mix=%d:%d:%d, keys=%d, skew=%.2f, payload=%d:%d, maxInFlight=%d, profile=%s",
+                rate == 0 ? "max" : rate + "/s",
+                events > 0 ? "events=" + events : "duration=" + durationSeconds + "s",
+                createWeight, updateWeight, deleteWeight, keys, skew, payloadMin, payloadMax, maxInFlight,
+                profile != null ? profile : KafkaConfig.getProfile());
+    }
+}
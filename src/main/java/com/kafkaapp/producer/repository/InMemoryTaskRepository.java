@@ -1,20 +1,40 @@
 package com.kafkaapp.producer.repository;
 
 import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
 import com.kafkaapp.common.repository.TaskRepository;
+import com.kafkaapp.common.repository.UpsertResult;
+import com.kafkaapp.common.utils.TaskIdGenerator;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 
 /**
- * Implementasi TaskRepository menggunakan penyimpanan di memory
+ * Implementasi TaskRepository menggunakan penyimpanan di memory.
+ * <p>
+ * Selain map utama berdasarkan ID, repository memelihara index sekunder berdasarkan status dan
+ * skip list terurut berdasarkan createdAt dan updatedAt (terbaru lebih dulu), sehingga query
+ * berdasarkan status dan task terbaru berjalan sebanding dengan ukuran hasilnya. Setiap penulisan
+ * untuk satu ID diserialisasi lewat {@link ConcurrentHashMap#compute}; pembaca bisa melihat index
+ * yang sedikit tertinggal tetapi tidak pernah rusak.
+ * <p>
+ * Karena {@link TaskSnapshot} immutable, task disimpan dan dikembalikan apa adanya tanpa salinan.
  */
 public class InMemoryTaskRepository implements TaskRepository {
     private static InMemoryTaskRepository instance;
-    private final Map<String, Task> taskMap = new ConcurrentHashMap<>();
+    private final Map<String, TaskSnapshot> taskMap = new ConcurrentHashMap<>();
+    private final Map<Task.TaskStatus, Set<String>> statusIndex = new EnumMap<>(Task.TaskStatus.class);
+    private final ConcurrentSkipListMap<IndexKey, TaskSnapshot> createdAtIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<IndexKey, TaskSnapshot> updatedAtIndex = new ConcurrentSkipListMap<>();
     
     private InMemoryTaskRepository() {
         // Private constructor untuk singleton
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            statusIndex.put(status, ConcurrentHashMap.newKeySet());
+        }
     }
     
     /**
@@ -29,48 +49,226 @@ public class InMemoryTaskRepository implements TaskRepository {
         return instance;
     }
     
+    /**
+     * Mendapatkan semua task, diurutkan dari yang terbaru dibuat
+     */
+    @Override
+    public List<TaskSnapshot> findAll() {
+        return new ArrayList<>(createdAtIndex.values());
+    }
+    
+    @Override
+    public List<TaskSnapshot> findPage(LocalDateTime afterCreatedAt, String afterId, int limit) {
+        Collection<TaskSnapshot> tasks = createdAtIndex.values();
+        if (afterCreatedAt != null && afterId != null) {
+            tasks = createdAtIndex.tailMap(new IndexKey(afterCreatedAt, afterId), false).values();
+        }
+        return take(tasks, limit);
+    }
+    
+    @Override
+    public Stream<TaskSnapshot> streamAll() {
+        return createdAtIndex.values().stream();
+    }
+    
+    @Override
+    public List<TaskSnapshot> findByStatus(Task.TaskStatus status) {
+        Set<String> ids = statusIndex.get(status);
+        List<TaskSnapshot> tasks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            TaskSnapshot task = taskMap.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+    
+    @Override
+    public int countByStatus(Task.TaskStatus status) {
+        return statusIndex.get(status).size();
+    }
+    
+    @Override
+    public List<TaskSnapshot> findRecent(int limit) {
+        return take(createdAtIndex.values(), limit);
+    }
+    
     @Override
-    public List<Task> findAll() {
-        return new ArrayList<>(taskMap.values());
+    public List<TaskSnapshot> findRecentlyUpdated(int limit) {
+        return take(updatedAtIndex.values(), limit);
     }
     
     @Override
-    public Optional<Task> findById(String id) {
+    public Optional<TaskSnapshot> findById(String id) {
         return Optional.ofNullable(taskMap.get(id));
     }
     
     @Override
-    public Task save(Task task) {
+    public TaskSnapshot save(TaskSnapshot task) {
+        TaskSnapshot saved = withIdIfMissing(task);
+        put(saved);
+        return saved;
+    }
+    
+    @Override
+    public UpsertResult upsert(TaskSnapshot task) {
+        TaskSnapshot previous = put(withIdIfMissing(task));
+        return previous == null ? UpsertResult.INSERTED : UpsertResult.UPDATED;
+    }
+    
+    /**
+     * Simpan task dan perbarui semua index
+     * 
+     * @return Task sebelumnya, atau null jika task baru
+     */
+    private TaskSnapshot put(TaskSnapshot task) {
+        TaskSnapshot[] previous = new TaskSnapshot[1];
+        taskMap.compute(task.getId(), (id, old) -> {
+            previous[0] = old;
+            if (old != null) {
+                unindex(old, task);
+            }
+            index(task);
+            return task;
+        });
+        return previous[0];
+    }
+    
+    /**
+     * Generate ID baru jika task belum memiliki ID
+     */
+    private static TaskSnapshot withIdIfMissing(TaskSnapshot task) {
         if (task.getId() == null || task.getId().isEmpty()) {
-            task.setId(UUID.randomUUID().toString());
+            return task.withId(TaskIdGenerator.newId());
         }
-        
-        // Buat salinan dari task untuk mencegah perubahan dari luar
-        Task taskCopy = new Task(
-            task.getId(),
-            task.getTitle(),
-            task.getDescription(),
-            task.getStatus(),
-            task.getCreatedAt(),
-            task.getUpdatedAt()
-        );
-        
-        taskMap.put(taskCopy.getId(), taskCopy);
-        return taskCopy;
+        return task;
+    }
+    
+    /**
+     * Menghapus task hanya jika versi yang tersimpan masih {@code expected}. Karena task
+     * immutable, setiap perubahan menyimpan instance baru, sehingga perbandingan identitas
+     * cukup untuk mendeteksi task yang sudah diubah sejak dibaca.
+     * 
+     * @param expected Task yang dibaca sebelumnya
+     * @return true jika task dihapus, false jika sudah tidak ada atau sudah berubah
+     */
+    public boolean deleteIfUnchanged(TaskSnapshot expected) {
+        boolean[] removed = new boolean[1];
+        taskMap.computeIfPresent(expected.getId(), (key, old) -> {
+            if (old != expected) {
+                return old;
+            }
+            unindex(old, null);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
     
     @Override
     public boolean deleteById(String id) {
-        return taskMap.remove(id) != null;
+        boolean[] removed = new boolean[1];
+        taskMap.computeIfPresent(id, (key, old) -> {
+            unindex(old, null);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
     
     @Override
     public void deleteAll() {
-        taskMap.clear();
+        for (String id : taskMap.keySet()) {
+            deleteById(id);
+        }
     }
     
     @Override
     public boolean existsById(String id) {
         return taskMap.containsKey(id);
     }
-}
\ No newline at end of file
+    
+    private void index(TaskSnapshot task) {
+        if (task.getStatus() != null) {
+            statusIndex.get(task.getStatus()).add(task.getId());
+        }
+        createdAtIndex.put(IndexKey.created(task), task);
+        updatedAtIndex.put(IndexKey.updated(task), task);
+    }
+    
+    /**
+     * Hapus task lama dari index. Key yang sama dengan task pengganti tidak dihapus,
+     * karena akan langsung ditimpa oleh {@link #index(TaskSnapshot)}.
+     */
+    private void unindex(TaskSnapshot old, TaskSnapshot replacement) {
+        if (old.getStatus() != null && (replacement == null || replacement.getStatus() != old.getStatus())) {
+            statusIndex.get(old.getStatus()).remove(old.getId());
+        }
+        if (replacement == null || !Objects.equals(old.getCreatedAt(), replacement.getCreatedAt())) {
+            createdAtIndex.remove(IndexKey.created(old));
+        }
+        if (replacement == null || !Objects.equals(old.getUpdatedAt(), replacement.getUpdatedAt())) {
+            updatedAtIndex.remove(IndexKey.updated(old));
+        }
+    }
+    
+    private static List<TaskSnapshot> take(Collection<TaskSnapshot> tasks, int limit) {
+        List<TaskSnapshot> result = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        Iterator<TaskSnapshot> iterator = tasks.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+    
+    /**
+     * Key skip list: waktu terbaru lebih dulu (null di akhir), lalu ID secara menurun,
+     * sama dengan {@link TaskRepository#PAGE_ORDER}
+     */
+    private static final class IndexKey implements Comparable<IndexKey> {
+        final LocalDateTime time;
+        final String id;
+        
+        IndexKey(LocalDateTime time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+        
+        static IndexKey created(TaskSnapshot task) {
+            return new IndexKey(task.getCreatedAt(), task.getId());
+        }
+        
+        static IndexKey updated(TaskSnapshot task) {
+            return new IndexKey(task.getUpdatedAt(), task.getId());
+        }
+        
+        @Override
+        public int compareTo(IndexKey other) {
+            if (time == null || other.time == null) {
+                if (time != other.time) {
+                    return time == null ? 1 : -1;
+                }
+            } else {
+                int cmp = other.time.compareTo(time);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return other.id.compareTo(id);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IndexKey)) return false;
+            IndexKey other = (IndexKey) o;
+            return Objects.equals(time, other.time) && id.equals(other.id);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(time, id);
+        }
+    }
+}
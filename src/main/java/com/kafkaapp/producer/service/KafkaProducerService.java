@@ -1,34 +1,95 @@
 package com.kafkaapp.producer.service;
 
-import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.config.AppConfig;
+import com.kafkaapp.common.config.KafkaConfig;
+import com.kafkaapp.common.metrics.Counter;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+import com.kafkaapp.common.metrics.SendTimestamp;
+import com.kafkaapp.common.metrics.Timer;
+import com.kafkaapp.common.model.TaskSnapshot;
 import com.kafkaapp.common.model.TaskEvent;
-import com.kafkaapp.common.utils.JsonUtils;
+import com.kafkaapp.common.serialization.TaskEventSerializer;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
- * Service untuk mengirim pesan ke Kafka
+ * Service untuk mengirim pesan ke Kafka.
+ * <p>
+ * Metrik JMX di grup {@code producer}: {@code records.sent}, {@code records.failed},
+ * {@code bytes.sent}, {@code send.latency} (sampai acknowledgement broker, atau sampai commit pada
+ * mode transaksional) dan {@code inflight}.
+ * <p>
+ * Mode pengiriman dipilih dengan {@code kafka.producer.mode}, lihat {@link Mode}.
  */
 public class KafkaProducerService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
-    private static final String TOPIC = "task-events";
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1000;
     
-    private final Producer<String, String> producer;
+    private final Producer<String, TaskEvent> producer;
+    private final Mode mode;
+    /** Hanya ada pada mode transaksional */
+    private final TransactionBatcher transactions;
+    private final String topic = KafkaConfig.getTaskTopic();
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    /** Batas waktu menunggu slot in-flight sebelum pengiriman dianggap gagal */
+    private final long inFlightTimeoutMs;
+    
+    private final Counter sentRecords;
+    private final Counter failedRecords;
+    private final Counter sentBytes;
+    private final Timer sendLatency;
     
     /**
-     * Constructor dengan konfigurasi default
+     * Jaminan pengiriman producer
+     */
+    public enum Mode {
+        /** Pengaturan client Kafka apa adanya (mengikuti acks dari profil) */
+        DEFAULT,
+        /** Idempotent dengan acks=all: retry tanpa batas tidak menduplikasi atau mengacak urutan record */
+        IDEMPOTENT,
+        /**
+         * Idempotent, dan record dikelompokkan dalam transaksi yang di-commit per
+         * {@code kafka.producer.transaction.max.events} record atau per
+         * {@code kafka.producer.transaction.max.ms} milidetik
+         */
+        TRANSACTIONAL;
+        
+        static Mode fromConfig() {
+            String value = AppConfig.getProperty("kafka.producer.mode", "default");
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Mode producer tidak dikenal: {}, memakai DEFAULT", value);
+                return DEFAULT;
+            }
+        }
+    }
+    
+    /**
+     * Constructor dengan bootstrap server dari {@code kafka.bootstrap.servers}
      */
     public KafkaProducerService() {
-        this("localhost:9092");
+        this(KafkaConfig.getBootstrapServers());
     }
     
     /**
@@ -37,40 +98,231 @@ public class KafkaProducerService {
      * @param bootstrapServers URL Kafka bootstrap servers
      */
     public KafkaProducerService(String bootstrapServers) {
-        Properties props = new Properties();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        this(bootstrapServers, DEFAULT_MAX_IN_FLIGHT);
+    }
+    
+    /**
+     * Constructor dengan bootstrap server dan batas event in-flight kustom
+     * 
+     * @param bootstrapServers URL Kafka bootstrap servers
+     * @param maxInFlight Jumlah maksimum event yang boleh menunggu acknowledgement broker
+     */
+    public KafkaProducerService(String bootstrapServers, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight harus lebih besar dari 0");
+        }
+        
+        // Tuning dari profil kafka.profile dan override kafka.producer.*
+        Properties props = KafkaConfig.producerProperties(bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TaskEventSerializer.class.getName());
+        props.put(TaskEventSerializer.FORMAT_CONFIG, AppConfig.getProperty("kafka.producer.format", "json"));
+        this.mode = Mode.fromConfig();
+        applyMode(props, mode);
         
         this.producer = new KafkaProducer<>(props);
-        logger.info("Kafka Producer initialized with bootstrap servers: {}", bootstrapServers);
+        this.transactions = mode == Mode.TRANSACTIONAL
+                ? new TransactionBatcher(producer,
+                        AppConfig.getInt("kafka.producer.transaction.max.events", 500),
+                        AppConfig.getInt("kafka.producer.transaction.max.ms", 100),
+                        AppConfig.getInt("kafka.producer.transaction.commit.retry.ms", 30000))
+                : null;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.inFlightTimeoutMs = AppConfig.getInt("kafka.producer.inflight.timeout.ms", 1000);
+        
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.sentRecords = metrics.counter("producer", "records.sent");
+        this.failedRecords = metrics.counter("producer", "records.failed");
+        this.sentBytes = metrics.counter("producer", "bytes.sent");
+        this.sendLatency = metrics.timer("producer", "send.latency");
+        metrics.gauge("producer", "inflight", this::getInFlightCount);
+        logger.info("Kafka Producer initialized with bootstrap servers: {}, topic: {}, max in-flight: {}, format: {}, "
+                + "mode: {}, profile: {}, linger.ms: {}, batch.size: {}, compression.type: {}, acks: {}, "
+                + "buffer.memory: {}", bootstrapServers, topic, maxInFlight, props.get(TaskEventSerializer.FORMAT_CONFIG),
+                mode, KafkaConfig.getProfile(), props.get(ProducerConfig.LINGER_MS_CONFIG),
+                props.get(ProducerConfig.BATCH_SIZE_CONFIG), props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG),
+                props.get(ProducerConfig.ACKS_CONFIG), props.get(ProducerConfig.BUFFER_MEMORY_CONFIG));
+    }
+    
+    /**
+     * Sesuaikan properti producer dengan mode pengiriman
+     */
+    private static void applyMode(Properties props, Mode mode) {
+        if (mode == Mode.DEFAULT) {
+            props.remove(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+            return;
+        }
+        Object acks = props.get(ProducerConfig.ACKS_CONFIG);
+        if (acks != null && !"all".equals(acks) && !"-1".equals(acks)) {
+            logger.warn("acks={} tidak didukung mode {}, memakai acks=all", acks, mode);
+        }
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        // Aman dengan idempotence: broker membuang duplikat dan urutan per partition tetap terjaga
+        props.putIfAbsent(ProducerConfig.RETRIES_CONFIG, Integer.toString(Integer.MAX_VALUE));
+        props.putIfAbsent(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, "5");
+        if (mode == Mode.TRANSACTIONAL) {
+            if (props.get(ProducerConfig.TRANSACTIONAL_ID_CONFIG) == null) {
+                // Id tetap yang sama di semua instance akan saling mem-fence, jadi default dibuat unik per proses
+                String transactionalId = "task-producer-" + hostName() + "-" + UUID.randomUUID();
+                props.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
+                logger.warn("kafka.producer.transactional.id tidak diatur, memakai {}. Transaksi yang "
+                        + "tertinggal dari proses sebelumnya tidak di-fence saat restart", transactionalId);
+            }
+        } else {
+            props.remove(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+        }
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
     }
     
     /**
-     * Kirim event task ke Kafka
+     * Kirim event task ke Kafka secara asinkron.
+     * <p>
+     * Method ini langsung kembali setelah record diserahkan ke producer, sehingga banyak event
+     * dapat dikirim bersamaan. Jika jumlah event yang belum di-acknowledge mencapai batas
+     * in-flight, pemanggil menunggu slot kosong paling lama {@code kafka.producer.inflight.timeout.ms};
+     * setelah itu future gagal dengan {@link TimeoutException}, sehingga pemanggil dari JavaFX
+     * thread tidak membekukan UI. Setiap record membawa waktu kirim di header
+     * {@value SendTimestamp#HEADER}.
+     * <p>
+     * Pada mode transaksional, future baru selesai setelah transaksi yang memuat record di-commit,
+     * dan gagal jika transaksi di-abort.
      * 
      * @param event TaskEvent yang akan dikirim
-     * @return true jika berhasil, false jika gagal
+     * @return Future yang selesai dengan metadata record, atau gagal dengan exception pengiriman
      */
-    public boolean sendTaskEvent(TaskEvent event) {
+    public CompletableFuture<RecordMetadata> sendTaskEventAsync(TaskEvent event) {
+        CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+        if (transactions != null && transactions.inGroup()) {
+            // Record grup ditahan sampai grup selesai; slot in-flight di sini hanya akan menunggu diri sendiri
+            return sendInGroup(event, result);
+        }
+        
+        try {
+            if (!inFlightPermits.tryAcquire(inFlightTimeoutMs, TimeUnit.MILLISECONDS)) {
+                failedRecords.increment();
+                result.completeExceptionally(new TimeoutException(String.format(
+                        "Batas %d event in-flight tercapai, tidak ada slot kosong dalam %d ms",
+                        maxInFlight, inFlightTimeoutMs)));
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+        
         try {
             String key = event.getTask().getId();
-            String value = JsonUtils.toJson(event);
             
-            ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, key, value);
+            ProducerRecord<String, TaskEvent> record = new ProducerRecord<>(topic, key, event);
+            // Waktu kirim untuk pengukuran latensi end-to-end di consumer
+            SendTimestamp.stamp(record.headers());
             
-            producer.send(record, (metadata, exception) -> {
-                if (exception == null) {
-                    logger.info("Message sent successfully to topic: {}, partition: {}, offset: {}",
-                            metadata.topic(), metadata.partition(), metadata.offset());
-                } else {
-                    logger.error("Failed to send message to Kafka", exception);
-                }
-            }).get(); // Menunggu pengiriman selesai
-            
-            return true;
-        } catch (InterruptedException | ExecutionException e) {
+            Callback onResolved = completion(result, System.nanoTime());
+            if (transactions != null) {
+                // Slot in-flight dilepas saat broker menerima record, bukan saat commit
+                transactions.send(record, (metadata, exception) -> inFlightPermits.release(), onResolved);
+            } else {
+                producer.send(record, (metadata, exception) -> {
+                    inFlightPermits.release();
+                    onResolved.onCompletion(metadata, exception);
+                });
+            }
+        } catch (RuntimeException e) {
+            // send() dapat melempar exception sebelum callback terdaftar
+            inFlightPermits.release();
+            failedRecords.increment();
             logger.error("Error sending task event to Kafka", e);
+            result.completeExceptionally(e);
+        }
+        
+        return result;
+    }
+    
+    private CompletableFuture<RecordMetadata> sendInGroup(TaskEvent event, CompletableFuture<RecordMetadata> result) {
+        ProducerRecord<String, TaskEvent> record = new ProducerRecord<>(topic, event.getTask().getId(), event);
+        SendTimestamp.stamp(record.headers());
+        transactions.send(record, (metadata, exception) -> { }, completion(result, System.nanoTime()));
+        return result;
+    }
+    
+    /**
+     * Callback yang mencatat metrik dan menyelesaikan future hasil pengiriman
+     */
+    private Callback completion(CompletableFuture<RecordMetadata> result, long start) {
+        return (metadata, exception) -> {
+            sendLatency.recordSince(start);
+            if (exception == null) {
+                sentRecords.increment();
+                sentBytes.add(Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize()));
+                logger.debug("Message sent successfully to topic: {}, partition: {}, offset: {}",
+                        metadata.topic(), metadata.partition(), metadata.offset());
+                result.complete(metadata);
+            } else {
+                failedRecords.increment();
+                logger.error("Failed to send message to Kafka", exception);
+                result.completeExceptionally(exception);
+            }
+        };
+    }
+    
+    /**
+     * Jalankan beberapa pengiriman sebagai satu transaksi Kafka.
+     * <p>
+     * Pada mode transaksional, semua event yang dikirim oleh {@code changes} ditahan lalu
+     * di-commit bersama setelah {@code changes} selesai, atau tidak dikirim sama sekali jika
+     * {@code changes} melempar exception. Method ini kembali sebelum commit; hasilnya dilaporkan
+     * lewat future setiap event. Pengiriman dari thread lain tidak menunggu grup. Pada mode lain,
+     * {@code changes} dijalankan langsung tanpa transaksi. Jangan memanggil
+     * {@link #sendTaskEvent(TaskEvent)} di dalam {@code changes}, karena hasilnya baru tersedia
+     * setelah grup selesai.
+     *
+     * @param changes Perubahan yang mengirim event lewat {@link #sendTaskEventAsync(TaskEvent)}
+     * @return Hasil changes
+     */
+    public <T> T runInTransaction(Supplier<T> changes) {
+        return transactions != null ? transactions.runInTransaction(changes) : changes.get();
+    }
+    
+    /**
+     * Commit transaksi yang sedang terbuka tanpa menunggu batas jumlah atau waktu.
+     * Tidak melakukan apa pun di luar mode transaksional.
+     */
+    public void flush() {
+        if (transactions != null) {
+            transactions.flush();
+        }
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    /**
+     * Kirim event task ke Kafka dan tunggu sampai broker memberi acknowledgement
+     * 
+     * @param event TaskEvent yang akan dikirim
+     * @return true jika berhasil, false jika gagal
+     */
+    public boolean sendTaskEvent(TaskEvent event) {
+        try {
+            sendTaskEventAsync(event).get(); // Menunggu pengiriman selesai
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while sending task event to Kafka", e);
+            return false;
+        } catch (ExecutionException e) {
+            logger.error("Error sending task event to Kafka", e.getCause());
             return false;
         }
     }
@@ -81,7 +333,7 @@ public class KafkaProducerService {
      * @param task Task yang akan dibuat
      * @return true jika berhasil, false jika gagal
      */
-    public boolean sendCreateEvent(Task task) {
+    public boolean sendCreateEvent(TaskSnapshot task) {
         TaskEvent event = new TaskEvent(TaskEvent.EventType.CREATE, task);
         return sendTaskEvent(event);
     }
@@ -92,7 +344,7 @@ public class KafkaProducerService {
      * @param task Task yang akan diupdate
      * @return true jika berhasil, false jika gagal
      */
-    public boolean sendUpdateEvent(Task task) {
+    public boolean sendUpdateEvent(TaskSnapshot task) {
         TaskEvent event = new TaskEvent(TaskEvent.EventType.UPDATE, task);
         return sendTaskEvent(event);
     }
@@ -103,18 +355,30 @@ public class KafkaProducerService {
      * @param task Task yang akan dihapus
      * @return true jika berhasil, false jika gagal
      */
-    public boolean sendDeleteEvent(Task task) {
+    public boolean sendDeleteEvent(TaskSnapshot task) {
         TaskEvent event = new TaskEvent(TaskEvent.EventType.DELETE, task);
         return sendTaskEvent(event);
     }
     
+    /**
+     * Mendapatkan jumlah event yang sedang menunggu acknowledgement broker
+     * 
+     * @return Jumlah event in-flight
+     */
+    public int getInFlightCount() {
+        return maxInFlight - inFlightPermits.availablePermits();
+    }
+    
     /**
      * Close producer
      */
     public void close() {
+        if (transactions != null) {
+            transactions.close();
+        }
         if (producer != null) {
             producer.close();
             logger.info("Kafka Producer closed");
         }
     }
-} 
\ No newline at end of file
+}
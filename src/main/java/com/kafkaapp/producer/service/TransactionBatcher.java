@@ -0,0 +1,465 @@
+package com.kafkaapp.producer.service;
+
+import com.kafkaapp.common.metrics.Counter;
+import com.kafkaapp.common.metrics.MetricsRegistry;
+import com.kafkaapp.common.metrics.Timer;
+import com.kafkaapp.common.model.TaskEvent;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mengelompokkan record ke dalam transaksi Kafka yang di-commit setiap {@code maxEvents} record
+ * atau setelah transaksi terbuka selama {@code maxMillis}, mana yang lebih dulu.
+ * <p>
+ * Hasil setiap record baru dilaporkan setelah transaksinya di-commit (atau di-abort), karena
+ * consumer dengan {@code read_committed} juga baru melihat record pada saat itu. Semua operasi
+ * transaksi dijalankan oleh satu thread sender; pemanggil hanya memasukkan record ke antrian,
+ * sehingga send tidak pernah menunggu commit yang sedang berjalan.
+ */
+class TransactionBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatcher.class);
+
+    private static final long COMMIT_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Penanda berhenti untuk thread sender
+    private static final Unit STOP = new Unit(Collections.emptyList(), false, null);
+
+    private final Producer<String, TaskEvent> producer;
+    private final int maxEvents;
+    private final long maxNanos;
+    private final long commitRetryNanos;
+    private final BlockingQueue<Unit> queue = new LinkedBlockingQueue<>();
+    private final ThreadLocal<List<Entry>> currentGroup = new ThreadLocal<>();
+    private final Thread sender;
+
+    private final Counter committedTransactions;
+    private final Counter abortedTransactions;
+    private final Timer commitLatency;
+
+    // Dilindungi monitor this
+    private boolean closed;
+
+    // Hanya diakses thread sender
+    private final List<Pending> pending = new ArrayList<>();
+    private boolean initialized;
+    private boolean inTransaction;
+    private long openedAt;
+    private KafkaException fatalError;
+
+    /**
+     * @param producer Producer dengan transactional.id
+     * @param maxEvents Jumlah record maksimum per transaksi
+     * @param maxMillis Umur maksimum transaksi yang terbuka sebelum di-commit
+     * @param commitRetryMillis Batas waktu mengulang commit yang gagal sementara
+     */
+    TransactionBatcher(Producer<String, TaskEvent> producer, int maxEvents, long maxMillis, long commitRetryMillis) {
+        if (maxEvents <= 0 || maxMillis <= 0) {
+            throw new IllegalArgumentException("maxEvents dan maxMillis harus lebih besar dari 0");
+        }
+        this.producer = producer;
+        this.maxEvents = maxEvents;
+        this.maxNanos = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        this.commitRetryNanos = TimeUnit.MILLISECONDS.toNanos(commitRetryMillis);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.committedTransactions = metrics.counter("producer", "transactions.committed");
+        this.abortedTransactions = metrics.counter("producer", "transactions.aborted");
+        this.commitLatency = metrics.timer("producer", "transaction.commit");
+
+        this.sender = new Thread(this::run, "kafka-transaction-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Antrikan record untuk transaksi yang sedang terbuka, atau buka transaksi baru.
+     * Di dalam {@link #runInTransaction} record ditahan sampai grup selesai.
+     *
+     * @param record Record yang dikirim
+     * @param onAcked Dipanggil dari thread I/O Kafka saat broker menerima record
+     * @param onResolved Dipanggil setelah transaksi di-commit (metadata) atau di-abort (exception)
+     */
+    void send(ProducerRecord<String, TaskEvent> record, Callback onAcked, Callback onResolved) {
+        Entry entry = new Entry(record, onAcked, onResolved);
+        List<Entry> group = currentGroup.get();
+        if (group != null) {
+            group.add(entry);
+            return;
+        }
+        enqueue(new Unit(Collections.singletonList(entry), false, null));
+    }
+
+    /**
+     * Jalankan perubahan sebagai satu transaksi tersendiri.
+     * <p>
+     * Record yang dikirim thread ini selama perubahan berjalan ditahan, lalu dikirim dan
+     * di-commit bersama dalam satu transaksi setelah perubahan selesai. Jika perubahan melempar
+     * exception, tidak ada record yang dikirim dan hasilnya dilaporkan gagal. Send dari thread
+     * lain tidak menunggu grup. Pemanggilan bersarang bergabung ke grup terluar.
+     * <p>
+     * Metode ini kembali sebelum transaksi di-commit; hasilnya dilaporkan lewat callback
+     * {@code onResolved} setiap record.
+     *
+     * @param changes Perubahan yang mengirim record
+     * @return Hasil perubahan
+     */
+    <T> T runInTransaction(Supplier<T> changes) {
+        if (currentGroup.get() != null) {
+            return changes.get();
+        }
+        List<Entry> group = new ArrayList<>();
+        currentGroup.set(group);
+        T result;
+        try {
+            result = changes.get();
+        } catch (RuntimeException | Error e) {
+            failEntries(group, e instanceof Exception ? (Exception) e : new KafkaException(e));
+            throw e;
+        } finally {
+            currentGroup.remove();
+        }
+        if (!group.isEmpty()) {
+            enqueue(new Unit(group, true, null));
+        }
+        return result;
+    }
+
+    /**
+     * @return true jika thread ini sedang berada di dalam {@link #runInTransaction}
+     */
+    boolean inGroup() {
+        return currentGroup.get() != null;
+    }
+
+    /**
+     * Commit transaksi yang sedang terbuka setelah semua record yang sudah diantrikan terkirim
+     */
+    void flush() {
+        if (Thread.currentThread() == sender) {
+            // Dipanggil dari callback; menunggu antrian di sini akan deadlock
+            commit();
+            return;
+        }
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        enqueue(new Unit(Collections.emptyList(), false, flushed));
+        flushed.join();
+    }
+
+    /**
+     * Kirim sisa antrian, commit transaksi terakhir, lalu hentikan thread sender.
+     * Producer ditutup oleh pemanggil.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(STOP);
+        }
+        try {
+            sender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Unit unit) {
+        synchronized (this) {
+            if (!closed) {
+                queue.add(unit);
+                return;
+            }
+        }
+        failEntries(unit.entries, new IllegalStateException("Producer transaksional sudah ditutup"));
+        if (unit.flushed != null) {
+            unit.flushed.complete(null);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                Unit unit = inTransaction
+                        ? queue.poll(openedAt + maxNanos - System.nanoTime(), TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (unit == STOP) {
+                    commit();
+                    return;
+                }
+                if (unit == null) {
+                    // Transaksi sudah mencapai umur maksimum
+                    commit();
+                } else if (unit.flushed != null) {
+                    commit();
+                    unit.flushed.complete(null);
+                } else if (unit.group) {
+                    commit();
+                    Exception failure = sendAll(unit.entries);
+                    if (failure != null && inTransaction) {
+                        abort(takePending(), failure);
+                    } else {
+                        commit();
+                    }
+                } else {
+                    sendAll(unit.entries);
+                    if (pending.size() >= maxEvents) {
+                        commit();
+                    }
+                }
+                if (inTransaction && System.nanoTime() - openedAt >= maxNanos) {
+                    commit();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Gagal memproses transaksi Kafka", e);
+            }
+        }
+    }
+
+    /**
+     * Kirim record di dalam transaksi yang sedang terbuka
+     *
+     * @return Error pertama yang membuat record tidak masuk transaksi, atau null
+     */
+    private Exception sendAll(List<Entry> entries) {
+        Exception failure = null;
+        for (Entry entry : entries) {
+            if (fatalError != null) {
+                entry.fail(fatalError);
+                failure = fatalError;
+                continue;
+            }
+            try {
+                beginIfNeeded();
+            } catch (KafkaException e) {
+                handleFailure(e);
+                entry.fail(e);
+                failure = e;
+                continue;
+            }
+            try {
+                pending.add(new Pending(producer.send(entry.record, entry.onAcked), entry.onResolved));
+            } catch (RuntimeException e) {
+                // Record tidak masuk transaksi, misalnya gagal serialisasi
+                entry.fail(e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        return failure;
+    }
+
+    private void beginIfNeeded() {
+        if (!initialized) {
+            // Menunggu koordinator transaksi; dilakukan saat send pertama agar startup tidak terblokir
+            producer.initTransactions();
+            initialized = true;
+        }
+        if (!inTransaction) {
+            producer.beginTransaction();
+            inTransaction = true;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    private void commit() {
+        if (!inTransaction) {
+            return;
+        }
+        List<Pending> batch = takePending();
+        long start = System.nanoTime();
+        try {
+            commitWithRetry(start);
+        } catch (RetriableException e) {
+            // Commit yang timeout hanya boleh diulang, bukan di-abort; transaksi tertinggal di broker
+            fatalError = e;
+            logger.error("Commit transaksi Kafka tidak selesai dalam {} ms, producer tidak dapat dipakai lagi",
+                    TimeUnit.NANOSECONDS.toMillis(commitRetryNanos), e);
+            fail(batch, e);
+            return;
+        } catch (KafkaException e) {
+            if (isFatal(e)) {
+                handleFailure(e);
+                fail(batch, e);
+            } else {
+                abort(batch, e);
+            }
+            return;
+        } catch (IllegalStateException e) {
+            // Producer sudah dalam state error fatal
+            fatalError = new KafkaException(e);
+            logger.error("Producer transaksional tidak dapat dipakai lagi", e);
+            fail(batch, e);
+            return;
+        }
+        commitLatency.recordSince(start);
+        committedTransactions.increment();
+        logger.debug("Committed Kafka transaction with {} records", batch.size());
+
+        for (Pending record : batch) {
+            record.resolve();
+        }
+    }
+
+    /**
+     * Panggil commitTransaction, diulang selama error-nya retriable (misalnya TimeoutException)
+     * dan batas waktu commit belum lewat. Kafka mengizinkan commit yang timeout diulang.
+     */
+    private void commitWithRetry(long start) {
+        while (true) {
+            try {
+                producer.commitTransaction();
+                return;
+            } catch (RetriableException e) {
+                long remaining = start + commitRetryNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    throw e;
+                }
+                logger.warn("Commit transaksi Kafka gagal sementara, mengulang: {}", e.toString());
+                try {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(remaining, COMMIT_RETRY_BACKOFF_NANOS));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void abort(List<Pending> batch, Exception cause) {
+        logger.warn("Aborting Kafka transaction with {} records", batch.size(), cause);
+        try {
+            producer.abortTransaction();
+            abortedTransactions.increment();
+        } catch (KafkaException e) {
+            // State transaksi tidak diketahui, producer tidak aman dipakai lagi
+            fatalError = e;
+            logger.error("Gagal meng-abort transaksi Kafka, producer tidak dapat dipakai lagi", e);
+        }
+        fail(batch, cause);
+    }
+
+    /**
+     * Tandai producer tidak dapat dipakai lagi jika error bersifat fatal
+     */
+    private void handleFailure(KafkaException e) {
+        inTransaction = false;
+        if (isFatal(e)) {
+            fatalError = e;
+            logger.error("Producer transaksional tidak dapat dipakai lagi", e);
+        }
+    }
+
+    private List<Pending> takePending() {
+        List<Pending> batch = new ArrayList<>(pending);
+        pending.clear();
+        inTransaction = false;
+        return batch;
+    }
+
+    private static void fail(List<Pending> batch, Exception cause) {
+        for (Pending record : batch) {
+            record.onResolved.onCompletion(null, cause);
+        }
+    }
+
+    private static void failEntries(List<Entry> entries, Exception cause) {
+        for (Entry entry : entries) {
+            entry.fail(cause);
+        }
+    }
+
+    private static boolean isFatal(KafkaException e) {
+        return e instanceof ProducerFencedException
+                || e instanceof OutOfOrderSequenceException
+                || e instanceof AuthorizationException;
+    }
+
+    /**
+     * Isi antrian thread sender: satu record, satu grup, atau permintaan flush
+     */
+    private static final class Unit {
+        final List<Entry> entries;
+        final boolean group;
+        final CompletableFuture<Void> flushed;
+
+        Unit(List<Entry> entries, boolean group, CompletableFuture<Void> flushed) {
+            this.entries = entries;
+            this.group = group;
+            this.flushed = flushed;
+        }
+    }
+
+    /**
+     * Record yang menunggu dikirim oleh thread sender
+     */
+    private static final class Entry {
+        final ProducerRecord<String, TaskEvent> record;
+        final Callback onAcked;
+        final Callback onResolved;
+
+        Entry(ProducerRecord<String, TaskEvent> record, Callback onAcked, Callback onResolved) {
+            this.record = record;
+            this.onAcked = onAcked;
+            this.onResolved = onResolved;
+        }
+
+        void fail(Exception cause) {
+            onAcked.onCompletion(null, cause);
+            onResolved.onCompletion(null, cause);
+        }
+    }
+
+    /**
+     * Record yang sudah dikirim dan menunggu hasil transaksinya
+     */
+    private static final class Pending {
+        final Future<RecordMetadata> future;
+        final Callback onResolved;
+
+        Pending(Future<RecordMetadata> future, Callback onResolved) {
+            this.future = future;
+            this.onResolved = onResolved;
+        }
+
+        /**
+         * Laporkan metadata setelah commit; commitTransaction sudah menunggu semua record selesai
+         */
+        void resolve() {
+            try {
+                onResolved.onCompletion(future.get(), null);
+            } catch (ExecutionException e) {
+                onResolved.onCompletion(null, e.getCause() instanceof Exception
+                        ? (Exception) e.getCause() : new KafkaException(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                onResolved.onCompletion(null, e);
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.kafkaapp.producer.view;
 
 import com.kafkaapp.common.model.Task;
+import com.kafkaapp.common.model.TaskSnapshot;
+import com.kafkaapp.producer.controller.TaskChange;
 import com.kafkaapp.producer.controller.TaskController;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -16,7 +20,10 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,8 +33,16 @@ public class ProducerView {
     private final TaskController taskController;
     private final Stage primaryStage;
     
-    private TableView<Task> taskTable;
-    private ObservableList<Task> taskData = FXCollections.observableArrayList();
+    /** Urutan default tabel: task terbaru paling atas */
+    private static final Comparator<TaskSnapshot> NEWEST_FIRST = Comparator
+            .comparing(TaskSnapshot::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TaskSnapshot::getId, Comparator.reverseOrder());
+    
+    private TableView<TaskSnapshot> taskTable;
+    // Urutan di list ini bebas agar penghapusan bisa O(1); urutan tampilan diatur SortedList
+    private final ObservableList<TaskSnapshot> taskData = FXCollections.observableArrayList();
+    // Posisi setiap task di taskData, hanya diakses dari JavaFX thread
+    private final Map<String, Integer> taskIndex = new HashMap<>();
     
     // Format untuk tampilan tanggal
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss");
@@ -37,19 +52,72 @@ public class ProducerView {
         this.primaryStage = primaryStage;
         
         // Register untuk memperbarui tampilan ketika data berubah
-        this.taskController.addChangeListener(this::updateTaskList);
+        this.taskController.addChangeListener(change -> {
+            if (Platform.isFxApplicationThread()) {
+                applyChange(change);
+            } else {
+                Platform.runLater(() -> applyChange(change));
+            }
+        });
+        
+        // Laporkan kegagalan pengiriman event yang terjadi setelah dialog ditutup
+        this.taskController.addDeliveryListener((event, error) -> {
+            if (error != null) {
+                Platform.runLater(() -> showAlert("Pengiriman Event Gagal",
+                        String.format("Event %s untuk task \"%s\" gagal dikirim ke Kafka: %s",
+                                event.getEventType(), event.getTask().getTitle(), error.getMessage()),
+                        Alert.AlertType.ERROR));
+            }
+        });
     }
     
     /**
-     * Perbarui daftar task di tabel
+     * Ganti seluruh isi tabel, hanya untuk data awal
      * 
      * @param tasks List task yang akan ditampilkan
      */
-    private void updateTaskList(List<Task> tasks) {
-        Platform.runLater(() -> {
-            taskData.clear();
-            taskData.addAll(tasks);
-        });
+    private void loadTaskList(List<TaskSnapshot> tasks) {
+        taskIndex.clear();
+        for (int i = 0; i < tasks.size(); i++) {
+            taskIndex.put(tasks.get(i).getId(), i);
+        }
+        taskData.setAll(tasks);
+    }
+    
+    /**
+     * Terapkan satu perubahan ke tabel tanpa membangun ulang seluruh isi tabel.
+     * Posisi task dicari lewat taskIndex, dan task yang dihapus digantikan oleh elemen terakhir,
+     * sehingga setiap perubahan tidak perlu memindai atau menggeser seluruh list.
+     * Harus dipanggil dari JavaFX thread.
+     * 
+     * @param change Perubahan dari TaskController
+     */
+    private void applyChange(TaskChange change) {
+        TaskSnapshot task = change.getTask();
+        Integer index = taskIndex.get(task.getId());
+        switch (change.getType()) {
+            case ADDED:
+            case UPDATED:
+                if (index == null) {
+                    taskIndex.put(task.getId(), taskData.size());
+                    taskData.add(task);
+                } else {
+                    taskData.set(index, task);
+                }
+                break;
+            case REMOVED:
+                if (index != null) {
+                    taskIndex.remove(task.getId());
+                    int last = taskData.size() - 1;
+                    if (index != last) {
+                        TaskSnapshot moved = taskData.get(last);
+                        taskData.set(index, moved);
+                        taskIndex.put(moved.getId(), index);
+                    }
+                    taskData.remove(last);
+                }
+                break;
+        }
     }
     
     /**
@@ -105,21 +173,26 @@ public class ProducerView {
     /**
      * Buat tabel task
      */
-    private TableView<Task> createTaskTable() {
-        TableView<Task> tableView = new TableView<>();
-        tableView.setItems(taskData);
+    private TableView<TaskSnapshot> createTaskTable() {
+        TableView<TaskSnapshot> tableView = new TableView<>();
+        // Urutan klik header kolom, atau task terbaru paling atas jika tidak ada kolom yang diurutkan
+        SortedList<TaskSnapshot> sortedData = new SortedList<>(taskData);
+        sortedData.comparatorProperty().bind(Bindings.when(tableView.comparatorProperty().isNull())
+                .then(NEWEST_FIRST)
+                .otherwise(tableView.comparatorProperty()));
+        tableView.setItems(sortedData);
         tableView.setPlaceholder(createEmptyTablePlaceholder());
         
         // Kolom ID
-        TableColumn<Task, String> idColumn = new TableColumn<>("ID");
+        TableColumn<TaskSnapshot, String> idColumn = new TableColumn<>("ID");
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         idColumn.setPrefWidth(220);
         
         // Kolom Judul
-        TableColumn<Task, String> titleColumn = new TableColumn<>("Judul");
+        TableColumn<TaskSnapshot, String> titleColumn = new TableColumn<>("Judul");
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         titleColumn.setPrefWidth(200);
-        titleColumn.setCellFactory(column -> new TableCell<Task, String>() {
+        titleColumn.setCellFactory(column -> new TableCell<TaskSnapshot, String>() {
             private Text text;
             
             @Override
@@ -141,10 +214,10 @@ public class ProducerView {
         });
         
         // Kolom Deskripsi
-        TableColumn<Task, String> descColumn = new TableColumn<>("Deskripsi");
+        TableColumn<TaskSnapshot, String> descColumn = new TableColumn<>("Deskripsi");
         descColumn.setCellValueFactory(new PropertyValueFactory<>("description"));
         descColumn.setPrefWidth(250);
-        descColumn.setCellFactory(column -> new TableCell<Task, String>() {
+        descColumn.setCellFactory(column -> new TableCell<TaskSnapshot, String>() {
             private Text text;
             
             @Override
@@ -166,10 +239,10 @@ public class ProducerView {
         });
         
         // Kolom Status
-        TableColumn<Task, Task.TaskStatus> statusColumn = new TableColumn<>("Status");
+        TableColumn<TaskSnapshot, Task.TaskStatus> statusColumn = new TableColumn<>("Status");
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         statusColumn.setPrefWidth(120);
-        statusColumn.setCellFactory(column -> new TableCell<Task, Task.TaskStatus>() {
+        statusColumn.setCellFactory(column -> new TableCell<TaskSnapshot, Task.TaskStatus>() {
             @Override
             protected void updateItem(Task.TaskStatus item, boolean empty) {
                 super.updateItem(item, empty);
@@ -201,7 +274,7 @@ public class ProducerView {
         });
         
         // Kolom Tanggal Dibuat
-        TableColumn<Task, String> createdAtColumn = new TableColumn<>("Dibuat Pada");
+        TableColumn<TaskSnapshot, String> createdAtColumn = new TableColumn<>("Dibuat Pada");
         createdAtColumn.setCellValueFactory(cellData -> {
             if (cellData.getValue().getCreatedAt() != null) {
                 return new javafx.beans.property.SimpleStringProperty(
@@ -219,7 +292,7 @@ public class ProducerView {
         tableView.getColumns().add(createdAtColumn);
         
         // Memuat data awal
-        taskController.getAllTasks();
+        loadTaskList(taskController.getAllTasks());
         
         return tableView;
     }
@@ -259,7 +332,7 @@ public class ProducerView {
         Button editButton = new Button("Edit Task");
         editButton.setGraphic(createIcon("✏️", "12px"));
         editButton.setOnAction(e -> {
-            Task selectedTask = taskTable.getSelectionModel().getSelectedItem();
+            TaskSnapshot selectedTask = taskTable.getSelectionModel().getSelectedItem();
             if (selectedTask != null) {
                 showEditTaskDialog(selectedTask);
             } else {
@@ -271,7 +344,7 @@ public class ProducerView {
         deleteButton.getStyleClass().add("delete-button");
         deleteButton.setGraphic(createIcon("🗑️", "12px"));
         deleteButton.setOnAction(e -> {
-            Task selectedTask = taskTable.getSelectionModel().getSelectedItem();
+            TaskSnapshot selectedTask = taskTable.getSelectionModel().getSelectedItem();
             if (selectedTask != null) {
                 showDeleteConfirmationDialog(selectedTask);
             } else {
@@ -296,7 +369,7 @@ public class ProducerView {
      * Tampilkan dialog untuk menambah task
      */
     private void showAddTaskDialog() {
-        Dialog<Task> dialog = new Dialog<>();
+        Dialog<TaskSnapshot> dialog = new Dialog<>();
         dialog.setTitle("Tambah Task Baru");
         dialog.setHeaderText("Masukkan detail task baru");
         
@@ -362,8 +435,8 @@ public class ProducerView {
     /**
      * Tampilkan dialog untuk mengedit task
      */
-    private void showEditTaskDialog(Task task) {
-        Dialog<Task> dialog = new Dialog<>();
+    private void showEditTaskDialog(TaskSnapshot task) {
+        Dialog<TaskSnapshot> dialog = new Dialog<>();
         dialog.setTitle("Edit Task");
         dialog.setHeaderText("Edit detail task");
         
@@ -438,7 +511,7 @@ public class ProducerView {
     /**
      * Tampilkan konfirmasi hapus task
      */
-    private void showDeleteConfirmationDialog(Task task) {
+    private void showDeleteConfirmationDialog(TaskSnapshot task) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Konfirmasi Hapus");
         alert.setHeaderText("Hapus Task");
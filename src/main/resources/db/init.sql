@@ -11,5 +11,6 @@ CREATE TABLE IF NOT EXISTS tasks (
     description TEXT,
     status ENUM('TODO', 'IN_PROGRESS', 'DONE') NOT NULL DEFAULT 'TODO',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_tasks_created_at (created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4; 
\ No newline at end of file
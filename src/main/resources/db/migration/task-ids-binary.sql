@@ -0,0 +1,26 @@
+-- Migrasi kolom tasks.id dari VARCHAR(36) ke BINARY(16) (MySQL 8.0+)
+-- Jalankan sekali, lalu set db.id.storage=binary di application.properties.
+-- Aplikasi juga dapat menjalankan migrasi ini otomatis dengan db.id.migrate=true.
+USE taskdb;
+
+ALTER TABLE tasks ADD COLUMN id_bin BINARY(16) NULL;
+
+UPDATE tasks SET id_bin = UUID_TO_BIN(id);
+
+-- DROP COLUMN id juga membuang id dari idx_tasks_created_at, jadi index lama dihapus jika ada
+-- lalu dibuat ulang pada (created_at, id) dengan kolom biner
+SET @drop_index = (
+    SELECT IF(COUNT(*) > 0, 'ALTER TABLE tasks DROP INDEX idx_tasks_created_at', 'DO 0')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tasks' AND INDEX_NAME = 'idx_tasks_created_at'
+);
+PREPARE drop_index FROM @drop_index;
+EXECUTE drop_index;
+DEALLOCATE PREPARE drop_index;
+
+ALTER TABLE tasks
+    DROP PRIMARY KEY,
+    DROP COLUMN id,
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (id),
+    ADD INDEX idx_tasks_created_at (created_at, id);